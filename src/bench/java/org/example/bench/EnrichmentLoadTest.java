@@ -0,0 +1,92 @@
+package org.example.bench;
+
+import org.example.Main;
+import org.example.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Ejecuta el pipeline completo de Main contra FakeOllamaServer y mide el rendimiento
+// del enriquecimiento. Parámetros (propiedades de sistema, con sus valores por defecto):
+//   -Dconcurrency=4 -DlatencyMedianMs=200 -DlatencySigma=0.5 -DtokensPerSecond=200
+//   -DerrorRate=0 -DhangRate=0 -Dseed=42
+// Cualquier clave de config.properties (ContractPath, IABatchSize, ...) se sobrescribe
+// con -Dconfig.Clave=valor
+public class EnrichmentLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnrichmentLoadTest.class);
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("concurrency", 4);
+
+        try (FakeOllamaServer server = new FakeOllamaServer(0, Long.getLong("seed", 42L))) {
+            server.setLatency(FakeOllamaServer.LatencyDistribution.logNormal(
+                    Long.getLong("latencyMedianMs", 200L),
+                    Double.parseDouble(System.getProperty("latencySigma", "0.5"))));
+            server.setTokensPerSecond(Double.parseDouble(System.getProperty("tokensPerSecond", "200")));
+            server.setErrorRate(Double.parseDouble(System.getProperty("errorRate", "0")));
+            server.setHangRate(Double.parseDouble(System.getProperty("hangRate", "0")));
+            server.start();
+
+            // Debe fijarse antes de que se carguen las clases de IA (leen la config en estático)
+            override("OllamaURI", server.getUri());
+            override("UseIA", "true");
+            override("IA", "Mistral");
+            override("IAConcurrency", String.valueOf(concurrency));
+            setDefault("IACacheEnabled", "false");
+            setDefault("OutputPath", "build/load-test/generated-api.feature");
+
+            long start = System.nanoTime();
+            Main.run();
+            long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+            report(concurrency, wallMillis, countScenarios(ConfigReader.getPropertyByKey("OutputPath")),
+                    server.getLatencies());
+        }
+    }
+
+    private static void override(String key, String value) {
+        System.setProperty(ConfigReader.OVERRIDE_PREFIX + key, value);
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(ConfigReader.OVERRIDE_PREFIX + key) == null) {
+            override(key, value);
+        }
+    }
+
+    private static long countScenarios(String featurePath) throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get(featurePath))) {
+            return lines.filter(line -> line.trim().startsWith("Scenario")).count();
+        }
+    }
+
+    private static void report(int concurrency, long wallMillis, long scenarios, List<Long> latencies) {
+        Collections.sort(latencies);
+        double throughput = scenarios * 1000.0 / Math.max(1, wallMillis);
+
+        LOGGER.info("═══════════════════════════════════════════");
+        LOGGER.info("PRUEBA DE CARGA - ENRIQUECIMIENTO IA");
+        LOGGER.info("═══════════════════════════════════════════");
+        LOGGER.info("  - Concurrencia: {}", concurrency);
+        LOGGER.info("  - Escenarios: {}", scenarios);
+        LOGGER.info("  - Peticiones a Ollama: {}", latencies.size());
+        LOGGER.info("  - Tiempo total: {} ms", wallMillis);
+        LOGGER.info("  - Escenarios/segundo: {}", String.format("%.2f", throughput));
+        LOGGER.info("  - Latencia p50: {} ms", percentile(latencies, 0.50));
+        LOGGER.info("  - Latencia p99: {} ms", percentile(latencies, 0.99));
+        LOGGER.info("═══════════════════════════════════════════");
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) return 0;
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Servidor en proceso que imita POST /api/generate de Ollama para pruebas y benchmarks.
+// La respuesta es el escenario del prompt con un step extra, generada a un ritmo de
+// tokensPerSecond tras una latencia inicial (tiempo hasta el primer token)
+public class FakeOllamaServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeOllamaServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String EXTRA_STEP = "    And match response == '#present'\n";
+
+    public interface LatencyDistribution {
+        long nextMillis(Random random);
+
+        static LatencyDistribution fixed(long millis) {
+            return random -> millis;
+        }
+
+        static LatencyDistribution uniform(long minMillis, long maxMillis) {
+            return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+        }
+
+        // Cola larga típica de un servidor de inferencia cargado
+        static LatencyDistribution logNormal(long medianMillis, double sigma) {
+            return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Random random;
+    private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+    private LatencyDistribution latency = LatencyDistribution.fixed(0);
+    private double tokensPerSecond = 0; // 0 = sin límite
+    private double errorRate;
+    private double hangRate;
+    private long hangMillis = TimeUnit.MINUTES.toMillis(10);
+
+    public FakeOllamaServer(int port, long seed) throws IOException {
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-ollama");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/generate", this::handleGenerate);
+    }
+
+    public FakeOllamaServer start() {
+        server.start();
+        LOGGER.info("🦙 Ollama simulado escuchando en {}", getUri());
+        return this;
+    }
+
+    public String getUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/generate";
+    }
+
+    public void setLatency(LatencyDistribution latency) { this.latency = latency; }
+    public void setTokensPerSecond(double tokensPerSecond) { this.tokensPerSecond = tokensPerSecond; }
+    public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+    public void setHangRate(double hangRate) { this.hangRate = hangRate; }
+    public void setHangMillis(long hangMillis) { this.hangMillis = hangMillis; }
+
+    // Duración de cada petición atendida (ms), medida en el servidor
+    public List<Long> getLatencies() {
+        synchronized (latencies) {
+            return new ArrayList<>(latencies);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+            double roll;
+            long firstTokenMillis;
+            synchronized (random) {
+                roll = random.nextDouble();
+                firstTokenMillis = Math.max(0, latency.nextMillis(random));
+            }
+
+            if (roll < hangRate) {
+                sleep(hangMillis);
+                return;
+            }
+            if (roll < hangRate + errorRate) {
+                sendJson(exchange, 500, MAPPER.createObjectNode().put("error", "simulated failure"));
+                return;
+            }
+
+            sleep(firstTokenMillis);
+
+            String prompt = request.path("prompt").asText();
+            String text = buildResponse(prompt);
+            ObjectNode metrics = metrics(request.path("system").asText("") + prompt);
+
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, text, metrics);
+            } else {
+                sleep(generationMillis(text));
+                sendJson(exchange, 200, metrics.put("response", text).put("done", true));
+            }
+        } catch (IOException e) {
+            // El cliente cortó la conexión (corte anticipado del streaming o timeout)
+            LOGGER.debug("  Conexión cerrada por el cliente: {}", e.getMessage());
+        } finally {
+            exchange.close();
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private void stream(HttpExchange exchange, String text, ObjectNode metrics) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+
+        OutputStream out = exchange.getResponseBody();
+        for (String token : text.split("(?<=\\s)")) {
+            ObjectNode chunk = MAPPER.createObjectNode().put("response", token).put("done", false);
+            out.write(MAPPER.writeValueAsBytes(chunk));
+            out.write('\n');
+            out.flush();
+            if (tokensPerSecond > 0) {
+                sleep(Math.round(1000 / tokensPerSecond));
+            }
+        }
+
+        out.write(MAPPER.writeValueAsBytes(metrics.put("response", "").put("done", true)));
+        out.write('\n');
+    }
+
+    // Repite el/los escenario(s) del prompt (incluidos los marcadores de lote) con un step extra
+    private String buildResponse(String prompt) {
+        int start = prompt.indexOf("ESCENARIO");
+        int end = prompt.indexOf("TAREA:");
+        String scenarios = prompt.substring(Math.max(0, start), end > start ? end : prompt.length());
+
+        StringBuilder sb = new StringBuilder();
+        for (String line : scenarios.split("\n")) {
+            if (line.startsWith("ESCENARIO")) continue;
+            if (line.trim().startsWith("###") && sb.length() > 0) {
+                sb.append(EXTRA_STEP);
+            }
+            sb.append(line).append("\n");
+        }
+        sb.append(EXTRA_STEP);
+        return sb.toString();
+    }
+
+    private ObjectNode metrics(String prompt) {
+        long promptTokens = Math.max(1, prompt.length() / 4);
+        return MAPPER.createObjectNode()
+                .put("model", "fake")
+                .put("prompt_eval_count", promptTokens)
+                .put("prompt_eval_duration", promptTokens * 100_000L);
+    }
+
+    private long generationMillis(String text) {
+        if (tokensPerSecond <= 0) return 0;
+        return Math.round(Math.max(1, text.length() / 4) * 1000 / tokensPerSecond);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.contract.synthetic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Genera contratos OpenAPI 3.0 sintéticos y reproducibles (misma semilla = mismo contrato)
+// para medir cómo escalan el parser, el generador y el writer.
+// Cada recurso aporta cinco operaciones: POST /rN, GET /rN, GET/PUT/DELETE /rN/{id}
+public class SyntheticContractGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticContractGenerator.class);
+    private static final String[] STRING_FORMATS = {null, null, "email", "uuid", "date-time"};
+
+    private final SyntheticContractSpec spec;
+    private final Random random;
+
+    public SyntheticContractGenerator(SyntheticContractSpec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.getSeed());
+    }
+
+    public Map<String, Object> generate() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("openapi", "3.0.0");
+        root.put("info", map("title", "Synthetic API " + spec.getEndpoints(),
+                "version", "1.0.0",
+                "description", "Contrato sintético (" + spec + ")"));
+        root.put("servers", List.of(map("url", "https://api.example.com/v1")));
+
+        // Los componentes se generan primero para que los $ref siempre apunten a algo
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("Error", map("type", "object", "properties", map(
+                "code", map("type", "string"),
+                "message", map("type", "string"))));
+        for (int i = 0; i < spec.getComponentCount(); i++) {
+            schemas.put("Model" + i, objectSchema(spec.getMaxDepth(), false));
+        }
+
+        Map<String, Object> paths = new LinkedHashMap<>();
+        for (int i = 0; i < spec.getEndpoints(); i++) {
+            int resource = i / 5;
+            String collection = "/r" + resource;
+            String item = collection + "/{id}";
+
+            switch (i % 5) {
+                case 0 -> operations(paths, collection).put("post", operation(i, resource, "create", true, false, 201));
+                case 1 -> operations(paths, collection).put("get", operation(i, resource, "list", false, false, 200));
+                case 2 -> operations(paths, item).put("get", operation(i, resource, "get", false, true, 200));
+                case 3 -> operations(paths, item).put("put", operation(i, resource, "update", true, true, 200));
+                default -> operations(paths, item).put("delete", operation(i, resource, "delete", false, true, 204));
+            }
+        }
+        root.put("paths", paths);
+        root.put("components", map("schemas", schemas));
+
+        return root;
+    }
+
+    public String generateYaml() throws IOException {
+        return new ObjectMapper(new YAMLFactory()).writeValueAsString(generate());
+    }
+
+    public Path write(Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper(new YAMLFactory()).writeValue(output.toFile(), generate());
+        LOGGER.info("📄 Contrato sintético escrito: {} ({})", output, spec);
+        return output;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> operations(Map<String, Object> paths, String path) {
+        return (Map<String, Object>) paths.computeIfAbsent(path, p -> new LinkedHashMap<String, Object>());
+    }
+
+    private Map<String, Object> operation(int index, int resource, String action,
+                                          boolean hasBody, boolean isItem, int successCode) {
+        Map<String, Object> operation = new LinkedHashMap<>();
+        operation.put("summary", capitalize(action) + " r" + resource);
+        operation.put("operationId", action + "R" + resource + "_" + index);
+        operation.put("tags", List.of("group" + (resource % Math.max(1, spec.getTagCount()))));
+
+        List<Object> parameters = new ArrayList<>();
+        if (isItem) {
+            parameters.add(parameter("id", "path", true, map("type", "string", "format", "uuid")));
+        } else if (!hasBody) {
+            int queryParams = random.nextInt(spec.getMaxQueryParams() + 1);
+            for (int q = 0; q < queryParams; q++) {
+                parameters.add(parameter("q" + q, "query", random.nextBoolean(), primitiveSchema()));
+            }
+        }
+        if (random.nextDouble() < spec.getAuthRatio()) {
+            parameters.add(parameter("Authorization", "header", true, map("type", "string")));
+        }
+        if (!parameters.isEmpty()) {
+            operation.put("parameters", parameters);
+        }
+
+        if (hasBody) {
+            operation.put("requestBody", map("required", true, "content", json(schemaOrRef(spec.getMaxDepth()))));
+        }
+
+        Map<String, Object> responses = new LinkedHashMap<>();
+        if (successCode == 204) {
+            responses.put("204", map("description", "Sin contenido"));
+        } else {
+            responses.put(String.valueOf(successCode),
+                    map("description", "Operación exitosa", "content", json(schemaOrRef(spec.getMaxDepth()))));
+        }
+        if (hasBody) {
+            responses.put("400", errorResponse("Datos inválidos"));
+        }
+        if (isItem) {
+            responses.put("404", errorResponse("No encontrado"));
+        }
+        if (successCode == 201) {
+            responses.put("409", errorResponse("Duplicado"));
+        }
+        operation.put("responses", responses);
+
+        return operation;
+    }
+
+    private Map<String, Object> schemaOrRef(int depth) {
+        if (random.nextDouble() < spec.getRefRatio()) {
+            return map("$ref", "#/components/schemas/Model" + random.nextInt(spec.getComponentCount()));
+        }
+        return objectSchema(depth, true);
+    }
+
+    private Map<String, Object> objectSchema(int depth, boolean allowRefs) {
+        int width = 1 + random.nextInt(Math.max(1, spec.getMaxWidth()));
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+
+        for (int i = 0; i < width; i++) {
+            String name = "field" + i;
+            properties.put(name, propertySchema(depth - 1, allowRefs));
+            if (random.nextDouble() < spec.getRequiredRatio()) {
+                required.add(name);
+            }
+        }
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        schema.put("properties", properties);
+        return schema;
+    }
+
+    private Map<String, Object> propertySchema(int depth, boolean allowRefs) {
+        int kind = random.nextInt(depth > 0 ? 6 : 4);
+        return switch (kind) {
+            case 4 -> map("type", "array", "items", depth > 1 ? objectSchema(depth - 1, allowRefs) : primitiveSchema());
+            case 5 -> allowRefs ? schemaOrRef(depth) : objectSchema(depth, false);
+            default -> primitiveSchema();
+        };
+    }
+
+    private Map<String, Object> primitiveSchema() {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        boolean withExample = random.nextDouble() < spec.getExampleDensity();
+
+        switch (random.nextInt(3)) {
+            case 0 -> {
+                schema.put("type", "string");
+                String format = STRING_FORMATS[random.nextInt(STRING_FORMATS.length)];
+                if (format != null) {
+                    schema.put("format", format);
+                } else {
+                    schema.put("minLength", 1 + random.nextInt(3));
+                    schema.put("maxLength", 10 + random.nextInt(50));
+                }
+                if (withExample) {
+                    schema.put("example", format == null ? "value" + random.nextInt(1000) : exampleFor(format));
+                }
+            }
+            case 1 -> {
+                schema.put("type", "integer");
+                schema.put("minimum", 0);
+                schema.put("maximum", 100 + random.nextInt(10000));
+                if (withExample) {
+                    schema.put("example", random.nextInt(100));
+                }
+            }
+            default -> {
+                schema.put("type", "boolean");
+                if (withExample) {
+                    schema.put("example", random.nextBoolean());
+                }
+            }
+        }
+        return schema;
+    }
+
+    private String exampleFor(String format) {
+        return switch (format) {
+            case "email" -> "user" + random.nextInt(1000) + "@example.com";
+            case "uuid" -> new UUID(random.nextLong(), random.nextLong()).toString();
+            default -> "2025-01-20T10:30:00Z";
+        };
+    }
+
+    private Map<String, Object> parameter(String name, String in, boolean required, Map<String, Object> schema) {
+        return map("name", name, "in", in, "required", required, "schema", schema);
+    }
+
+    private Map<String, Object> errorResponse(String description) {
+        return map("description", description, "content", json(map("$ref", "#/components/schemas/Error")));
+    }
+
+    private Map<String, Object> json(Map<String, Object> schema) {
+        return map("application/json", map("schema", schema));
+    }
+
+    private static Map<String, Object> map(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    // Uso: --endpoints=5000 --depth=4 --width=10 --refs=0.3 --examples=0.5 --seed=42 --output=ruta.yml
+    public static void main(String[] args) throws IOException {
+        SyntheticContractSpec spec = new SyntheticContractSpec();
+        Path output = Paths.get("build/synthetic/synthetic-api.yml");
+
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+            switch (pair[0]) {
+                case "endpoints" -> spec.setEndpoints(Integer.parseInt(pair[1]));
+                case "depth" -> spec.setMaxDepth(Integer.parseInt(pair[1]));
+                case "width" -> spec.setMaxWidth(Integer.parseInt(pair[1]));
+                case "queryParams" -> spec.setMaxQueryParams(Integer.parseInt(pair[1]));
+                case "required" -> spec.setRequiredRatio(Double.parseDouble(pair[1]));
+                case "refs" -> spec.setRefRatio(Double.parseDouble(pair[1]));
+                case "examples" -> spec.setExampleDensity(Double.parseDouble(pair[1]));
+                case "auth" -> spec.setAuthRatio(Double.parseDouble(pair[1]));
+                case "seed" -> spec.setSeed(Long.parseLong(pair[1]));
+                case "output" -> output = Paths.get(pair[1]);
+                default -> throw new IllegalArgumentException("Argumento desconocido: " + pair[0]);
+            }
+        }
+
+        new SyntheticContractGenerator(spec).write(output);
+    }
+}
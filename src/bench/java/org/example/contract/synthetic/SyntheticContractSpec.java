@@ -0,0 +1,58 @@
+package org.example.contract.synthetic;
+
+public class SyntheticContractSpec {
+    private long seed = 42;
+    private int endpoints = 100;
+    private int maxWidth = 8;          // Propiedades máximas por objeto
+    private int maxDepth = 3;          // Niveles máximos de objetos anidados
+    private int maxQueryParams = 3;
+    private int tagCount = 10;
+    private double authRatio = 0.5;    // Endpoints con header Authorization
+    private double requiredRatio = 0.5;
+    private double refRatio = 0.3;     // Objetos emitidos como $ref a components/schemas
+    private double exampleDensity = 0.5;
+    private int componentCount = 0;    // 0 = endpoints / 10
+
+    public SyntheticContractSpec() {}
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public int getEndpoints() { return endpoints; }
+    public void setEndpoints(int endpoints) { this.endpoints = endpoints; }
+
+    public int getMaxWidth() { return maxWidth; }
+    public void setMaxWidth(int maxWidth) { this.maxWidth = maxWidth; }
+
+    public int getMaxDepth() { return maxDepth; }
+    public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+
+    public int getMaxQueryParams() { return maxQueryParams; }
+    public void setMaxQueryParams(int maxQueryParams) { this.maxQueryParams = maxQueryParams; }
+
+    public int getTagCount() { return tagCount; }
+    public void setTagCount(int tagCount) { this.tagCount = tagCount; }
+
+    public double getAuthRatio() { return authRatio; }
+    public void setAuthRatio(double authRatio) { this.authRatio = authRatio; }
+
+    public double getRequiredRatio() { return requiredRatio; }
+    public void setRequiredRatio(double requiredRatio) { this.requiredRatio = requiredRatio; }
+
+    public double getRefRatio() { return refRatio; }
+    public void setRefRatio(double refRatio) { this.refRatio = refRatio; }
+
+    public double getExampleDensity() { return exampleDensity; }
+    public void setExampleDensity(double exampleDensity) { this.exampleDensity = exampleDensity; }
+
+    public int getComponentCount() {
+        return componentCount > 0 ? componentCount : Math.max(1, endpoints / 10);
+    }
+    public void setComponentCount(int componentCount) { this.componentCount = componentCount; }
+
+    @Override
+    public String toString() {
+        return String.format("SyntheticContractSpec{seed=%d, endpoints=%d, width=%d, depth=%d, refs=%.2f}",
+                seed, endpoints, maxWidth, maxDepth, refRatio);
+    }
+}
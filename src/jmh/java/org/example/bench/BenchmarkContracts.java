@@ -0,0 +1,34 @@
+package org.example.bench;
+
+import org.example.contract.synthetic.SyntheticContractGenerator;
+import org.example.contract.synthetic.SyntheticContractSpec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Contratos OpenAPI 3 de tamaño controlado para los benchmarks:
+// endpoints = número de operaciones, width = propiedades máximas por objeto,
+// depth = niveles de objetos anidados. Semilla fija para que las mediciones sean comparables
+final class BenchmarkContracts {
+
+    private static final long SEED = 42;
+
+    private BenchmarkContracts() {
+    }
+
+    static Path writeContract(int endpoints, int width, int depth) throws IOException {
+        Path file = Files.createTempFile("bench-contract-", ".yml");
+        file.toFile().deleteOnExit();
+        return new SyntheticContractGenerator(spec(endpoints, width, depth)).write(file);
+    }
+
+    static SyntheticContractSpec spec(int endpoints, int width, int depth) {
+        SyntheticContractSpec spec = new SyntheticContractSpec();
+        spec.setSeed(SEED);
+        spec.setEndpoints(endpoints);
+        spec.setMaxWidth(width);
+        spec.setMaxDepth(depth);
+        return spec;
+    }
+}
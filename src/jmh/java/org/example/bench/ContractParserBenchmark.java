@@ -0,0 +1,45 @@
+package org.example.bench;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.ContractParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractParserBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int endpoints;
+
+    @Param({"5", "20"})
+    private int width;
+
+    @Param({"1", "3"})
+    private int depth;
+
+    // tree = Map intermedio, streaming = flujo de tokens; comparar también gc.alloc.rate.norm
+    @Param({"tree", "streaming"})
+    private String parserType;
+
+    private Path contractFile;
+    private ContractParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        contractFile = BenchmarkContracts.writeContract(endpoints, width, depth);
+        parser = ContractParser.forName(parserType);
+    }
+
+    @Benchmark
+    public ApiContract parse() throws IOException {
+        return parser.parse(contractFile.toString());
+    }
+}
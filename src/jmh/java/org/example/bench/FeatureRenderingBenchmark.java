@@ -0,0 +1,60 @@
+package org.example.bench;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.YamlContractParser;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.example.generator.template.KarateTemplateEngine;
+import org.example.utils.ConfigReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeatureRenderingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int endpoints;
+
+    @Param({"5", "20"})
+    private int width;
+
+    @Param({"1", "3"})
+    private int depth;
+
+    // Un escenario por campo frente a Scenario Outline + Examples
+    @Param({"false", "true"})
+    private boolean outlines;
+
+    private ApiContract contract;
+    private List<KarateScenario> scenarios;
+    private KarateTemplateEngine templateEngine;
+
+    @Setup
+    public void setUp() throws IOException {
+        contract = new YamlContractParser().parse(
+                BenchmarkContracts.writeContract(endpoints, width, depth).toString());
+        System.setProperty(ConfigReader.OVERRIDE_PREFIX + "ScenarioOutlines", String.valueOf(outlines));
+        scenarios = new ScenarioGenerator().generateAll(contract);
+        templateEngine = new KarateTemplateEngine();
+    }
+
+    @Benchmark
+    public String generateFeature() {
+        return templateEngine.generateFeature(contract, scenarios);
+    }
+
+    // Render en streaming: con gc.alloc.rate.norm se ve que no se materializa el fichero
+    @Benchmark
+    public void writeFeature() throws IOException {
+        templateEngine.writeFeature(contract, scenarios, Writer.nullWriter());
+    }
+}
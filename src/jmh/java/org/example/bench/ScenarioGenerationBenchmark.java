@@ -0,0 +1,50 @@
+package org.example.bench;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.YamlContractParser;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScenarioGenerationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int endpoints;
+
+    @Param({"5", "20"})
+    private int width;
+
+    @Param({"1", "3"})
+    private int depth;
+
+    // Escalado serie vs paralelo (umbral 0: siempre en paralelo)
+    @Param({"serial", "parallel"})
+    private String mode;
+
+    private ApiContract contract;
+    private ScenarioGenerator generator;
+
+    @Setup
+    public void setUp() throws IOException {
+        contract = new YamlContractParser().parse(
+                BenchmarkContracts.writeContract(endpoints, width, depth).toString());
+        generator = new ScenarioGenerator();
+        generator.setParallel("parallel".equals(mode));
+        generator.setParallelThreshold(0);
+    }
+
+    @Benchmark
+    public List<KarateScenario> generateAll() {
+        return generator.generateAll(contract);
+    }
+}
@@ -1,17 +1,26 @@
 package org.example;
 
+import org.example.batch.BatchRunner;
 import org.example.contract.model.ApiContract;
-import org.example.contract.parser.YamlContractParser;
+import org.example.contract.model.Endpoint;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.ScenarioDeduplicator;
 import org.example.generator.ScenarioGenerator;
 import org.example.generator.model.KarateScenario;
+import org.example.generator.template.FeatureContent;
+import org.example.generator.template.FeatureSharder;
 import org.example.generator.template.KarateTemplateEngine;
 import org.example.ia.ScenarioEnricher;
+import org.example.incremental.IncrementalGenerator;
 import org.example.utils.ConfigReader;
 import org.example.writer.FeatureFileWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Main {
 
@@ -19,82 +28,131 @@ public class Main {
 
     public static void main(String[] args) {
         try {
-            LOGGER.info("Contract-to-Feature Generator - Iniciando...\n");
+            // Con BatchContracts (directorio o glob) se procesan todos los contratos en esta JVM
+            String batchContracts = ConfigReader.getPropertyByKey("BatchContracts", "");
+            if (batchContracts.isBlank()) {
+                run();
+            } else if (new BatchRunner().run(batchContracts,
+                    ConfigReader.getPropertyByKey("BatchOutputDir", "build/features")).getFailed() > 0) {
+                System.exit(1);
+            }
+        } catch (Exception e) {
+            LOGGER.error("❌ Error durante la ejecución:", e);
+            System.exit(1);
+        }
+    }
 
-            // 1. Leer configuración
-            String contractPath = ConfigReader.getPropertyByKey("ContractPath");
-            String outputPath = ConfigReader.getPropertyByKey("OutputPath");
-            boolean useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA"));
+    public static void run() throws Exception {
+        LOGGER.info("Contract-to-Feature Generator - Iniciando...\n");
 
-            LOGGER.info("📋 Configuración:");
-            LOGGER.info("  - Contrato: {}", contractPath);
-            LOGGER.info("  - Salida: {}", outputPath);
-            LOGGER.info("  - IA: {}", useIA ? "Habilitada" : "Deshabilitada");
-            LOGGER.info("");
+        // 1. Leer configuración
+        String contractPath = ConfigReader.getPropertyByKey("ContractPath");
+        String outputPath = ConfigReader.getPropertyByKey("OutputPath");
+        boolean useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA"));
+        boolean incremental = Boolean.parseBoolean(ConfigReader.getPropertyByKey("IncrementalGeneration", "false"));
 
-            // 2. Parsear contrato
-            LOGGER.info("📄 Paso 1/5: Parseando contrato YAML...");
-            YamlContractParser parser = new YamlContractParser();
-            ApiContract contract = parser.parse(contractPath);
-            LOGGER.info("Contrato parseado:");
-            LOGGER.info("  - Título: {}", contract.getTitle());
-            LOGGER.info("  - Versión: {}", contract.getVersion());
-            LOGGER.info("  - Endpoints: {}", contract.getEndpoints().size());
-            LOGGER.info("");
+        LOGGER.info("📋 Configuración:");
+        LOGGER.info("  - Contrato: {}", contractPath);
+        LOGGER.info("  - Salida: {}", outputPath);
+        LOGGER.info("  - IA: {}", useIA ? "Habilitada" : "Deshabilitada");
+        LOGGER.info("  - Incremental: {}", incremental ? "Sí" : "No");
+        LOGGER.info("");
 
-            // 3. Generar escenarios base
-            LOGGER.info("Paso 2/5: Generando escenarios base...");
-            ScenarioGenerator generator = new ScenarioGenerator();
-            List<KarateScenario> scenarios = generator.generateAll(contract);
-            LOGGER.info("Escenarios generados: {}", scenarios.size());
-
-            // Desglose por endpoint
-            List<KarateScenario> finalScenarios = scenarios;
-            contract.getEndpoints().forEach(endpoint -> {
-                long count = finalScenarios.stream()
-                        .filter(s -> endpoint.getOperationId().equals(s.getOperationId()))
-                        .count();
-                LOGGER.info("  - {} {}: {} escenarios",
-                        endpoint.getMethod(), endpoint.getPath(), count);
-            });
-            LOGGER.info("");
+        // 2. Parsear contrato
+        LOGGER.info("📄 Paso 1/5: Parseando contrato YAML...");
+        ContractParser parser = ContractParser.forName(ConfigReader.getPropertyByKey("ContractParser", ContractParser.DEFAULT));
+        ApiContract contract = parser.parse(contractPath);
+        LOGGER.info("Contrato parseado:");
+        LOGGER.info("  - Título: {}", contract.getTitle());
+        LOGGER.info("  - Versión: {}", contract.getVersion());
+        LOGGER.info("  - Endpoints: {}", contract.getEndpoints().size());
+        LOGGER.info("");
 
-            // 4. Enriquecer con IA
-            if (useIA) {
-                LOGGER.info("Paso 3/5: Enriqueciendo escenarios con IA...");
-                ScenarioEnricher enricher = new ScenarioEnricher();
-                scenarios = enricher.enrich(scenarios, contract);
-                LOGGER.info("");
-            } else {
-                LOGGER.info("Paso 3/5: Saltando enriquecimiento con IA");
-                LOGGER.info("");
-            }
+        // 3. Generar escenarios base
+        LOGGER.info("Paso 2/5: Generando escenarios base...");
+        ScenarioGenerator generator = new ScenarioGenerator();
+        ScenarioDeduplicator deduplicator = ScenarioDeduplicator.fromConfig();
+        IncrementalGenerator incrementalGenerator = null;
+        IncrementalGenerator.Plan plan = null;
+        List<Endpoint> endpoints = contract.getEndpoints();
+        List<KarateScenario> scenarios;
+        if (incremental) {
+            // Solo los endpoints nuevos o modificados; el resto sale del manifiesto
+            incrementalGenerator = new IncrementalGenerator(outputPath);
+            plan = incrementalGenerator.plan(contract);
+            endpoints = plan.getChanged();
+            scenarios = plan.generate(generator, deduplicator);
+        } else {
+            scenarios = deduplicator.deduplicate(generator.generateAll(contract));
+        }
+        LOGGER.info("Escenarios generados: {}", scenarios.size());
 
-            // 5. Generar archivo .feature
-            LOGGER.info("Paso 4/5: Generando archivo .feature...");
-            KarateTemplateEngine templateEngine = new KarateTemplateEngine();
-            String featureContent = templateEngine.generateFeature(contract, scenarios);
-            LOGGER.info("");
+        // Desglose por endpoint (una sola pasada sobre los escenarios)
+        Map<String, Integer> countsByOperationId = new HashMap<>();
+        for (KarateScenario scenario : scenarios) {
+            countsByOperationId.merge(String.valueOf(scenario.getOperationId()), 1, Integer::sum);
+        }
+        endpoints.forEach(endpoint -> LOGGER.info("  - {} {}: {} escenarios",
+                endpoint.getMethod(), endpoint.getPath(),
+                countsByOperationId.getOrDefault(String.valueOf(endpoint.getOperationId()), 0)));
+        LOGGER.info("");
 
-            // 6. Escribir archivo
-            LOGGER.info("Paso 5/5: Escribiendo archivo...");
-            FeatureFileWriter writer = new FeatureFileWriter();
-            writer.write(featureContent, outputPath);
+        // 4. Enriquecer con IA
+        ScenarioEnricher enricher = null;
+        List<Boolean> enriched = Collections.nCopies(scenarios.size(), false);
+        if (useIA && !scenarios.isEmpty()) {
+            LOGGER.info("Paso 3/5: Enriqueciendo escenarios con IA...");
+            enricher = new ScenarioEnricher();
+            ScenarioEnricher.Result result = enricher.enrichWithStatus(scenarios, contract);
+            scenarios = result.getScenarios();
+            enriched = result.getEnriched();
             LOGGER.info("");
+        } else {
+            LOGGER.info("Paso 3/5: Saltando enriquecimiento con IA");
+            LOGGER.info("");
+        }
 
-            // Resumen final
-            LOGGER.info("═══════════════════════════════════════════");
-            LOGGER.info("GENERACIÓN COMPLETADA EXITOSAMENTE");
-            LOGGER.info("═══════════════════════════════════════════");
-            LOGGER.info("Resumen:");
-            LOGGER.info("  - Endpoints procesados: {}", contract.getEndpoints().size());
-            LOGGER.info("  - Escenarios generados: {}", scenarios.size());
-            LOGGER.info("  - Archivo: {}", outputPath);
-            LOGGER.info("═══════════════════════════════════════════");
+        if (plan != null) {
+            scenarios = plan.assemble(scenarios, enriched);
+        }
 
-        } catch (Exception e) {
-            LOGGER.error("❌ Error durante la ejecución:", e);
-            System.exit(1);
+        // 5. Generar archivo .feature
+        LOGGER.info("Paso 4/5: Generando archivo .feature...");
+        KarateTemplateEngine templateEngine = new KarateTemplateEngine();
+        FeatureSharder sharder = FeatureSharder.fromConfig();
+        Map<String, FeatureContent> features = sharder.render(templateEngine, contract, scenarios, outputPath);
+        LOGGER.info("");
+
+        // 6. Escribir archivo
+        LOGGER.info("Paso 5/5: Escribiendo archivo...");
+        FeatureFileWriter writer = new FeatureFileWriter();
+        writer.writeAll(features);
+        sharder.removeStaleShards(outputPath, features.keySet());
+        if (incrementalGenerator != null) {
+            incrementalGenerator.save(plan);
+        }
+        LOGGER.info("");
+
+        // Resumen final
+        LOGGER.info("═══════════════════════════════════════════");
+        LOGGER.info("GENERACIÓN COMPLETADA EXITOSAMENTE");
+        LOGGER.info("═══════════════════════════════════════════");
+        LOGGER.info("Resumen:");
+        LOGGER.info("  - Endpoints procesados: {}", contract.getEndpoints().size());
+        LOGGER.info("  - Escenarios generados: {}", scenarios.size());
+        if (plan != null) {
+            LOGGER.info("  - Endpoints reutilizados del manifiesto: {}", plan.getReusedCount());
+        }
+        if (sharder.isEnabled()) {
+            LOGGER.info("  - Archivos: {} en {}", features.size(), FeatureSharder.shardDirectory(outputPath));
+        } else {
+            LOGGER.info("  - Archivo: {}", outputPath);
+        }
+        LOGGER.info("  - Ficheros escritos: {}, sin cambios: {}", writer.getWritten(), writer.getSkipped());
+        deduplicator.logSummary();
+        if (enricher != null) {
+            enricher.logSummary();
         }
+        LOGGER.info("═══════════════════════════════════════════");
     }
 }
\ No newline at end of file
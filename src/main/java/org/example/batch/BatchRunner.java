@@ -0,0 +1,314 @@
+package org.example.batch;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.ScenarioDeduplicator;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.example.generator.template.FeatureContent;
+import org.example.generator.template.FeatureSharder;
+import org.example.generator.template.KarateTemplateEngine;
+import org.example.ia.ScenarioEnricher;
+import org.example.incremental.IncrementalGenerator;
+import org.example.utils.ConfigReader;
+import org.example.writer.FeatureFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+// Procesa varios contratos en una sola JVM:
+// - parseo y generación en un ForkJoinPool (un contrato por tarea)
+// - enriquecimiento en una única cola compartida: un contrato detrás de otro sobre el mismo
+//   ScenarioEnricher, que ya reparte IAConcurrency peticiones y respeta IARequestsPerSecond
+// - escritura de cada .feature en cuanto su contrato termina, sin esperar al resto
+public class BatchRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchRunner.class);
+    private static final int PARALLELISM = Integer.parseInt(ConfigReader.getPropertyByKey(
+            "BatchParallelism", String.valueOf(Runtime.getRuntime().availableProcessors())).trim());
+    private static final String PARSER = ConfigReader.getPropertyByKey("ContractParser", ContractParser.DEFAULT);
+    private static final boolean INCREMENTAL = Boolean.parseBoolean(
+            ConfigReader.getPropertyByKey("IncrementalGeneration", "false"));
+
+    // Compartidos por todos los contratos para totalizar ficheros escritos y duplicados
+    private final FeatureFileWriter writer = new FeatureFileWriter();
+    private final ScenarioDeduplicator deduplicator = ScenarioDeduplicator.fromConfig();
+
+    public Summary run(String contracts, String outputDir) throws IOException {
+        LOGGER.info("Contract-to-Feature Generator - Modo lote\n");
+
+        Path baseDir = baseDirectory(contracts);
+        List<Path> contractFiles = findContracts(contracts);
+        boolean useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA"));
+
+        LOGGER.info("📋 Configuración:");
+        LOGGER.info("  - Contratos: {} ({} encontrados)", contracts, contractFiles.size());
+        LOGGER.info("  - Salida: {}", outputDir);
+        LOGGER.info("  - Paralelismo: {}", PARALLELISM);
+        LOGGER.info("  - IA: {}", useIA ? "Habilitada" : "Deshabilitada");
+        LOGGER.info("");
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, PARALLELISM));
+        ExecutorService llmQueue = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ia-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScenarioEnricher enricher = useIA ? new ScenarioEnricher() : null;
+
+        try {
+            List<CompletableFuture<ContractResult>> futures = new ArrayList<>();
+            for (Path contractFile : contractFiles) {
+                Path output = outputFor(baseDir, contractFile, Paths.get(outputDir));
+                futures.add(process(contractFile, output, enricher, pool, llmQueue));
+            }
+
+            List<ContractResult> results = futures.stream().map(CompletableFuture::join).toList();
+            Summary summary = new Summary(results, (System.nanoTime() - start) / 1_000_000);
+            logSummary(summary, enricher);
+            return summary;
+        } finally {
+            pool.shutdown();
+            llmQueue.shutdown();
+        }
+    }
+
+    private CompletableFuture<ContractResult> process(Path contractFile, Path output, ScenarioEnricher enricher,
+                                                      ExecutorService pool, ExecutorService llmQueue) {
+        long start = System.nanoTime();
+
+        CompletableFuture<Job> generated = CompletableFuture.supplyAsync(() -> generate(contractFile, output), pool);
+        CompletableFuture<Job> enriched = enricher == null
+                ? generated
+                : generated.thenApplyAsync(job -> {
+                    if (job.scenarios.isEmpty()) {
+                        return job;
+                    }
+                    LOGGER.info("🤖 Enriqueciendo: {} ({} escenarios)", contractFile, job.scenarios.size());
+                    ScenarioEnricher.Result result = enricher.enrichWithStatus(job.scenarios, job.contract);
+                    job.scenarios = result.getScenarios();
+                    job.enriched = result.getEnriched();
+                    return job;
+                }, llmQueue);
+
+        return enriched
+                .thenApplyAsync(job -> write(job, output, start), pool)
+                .exceptionally(error -> {
+                    Throwable cause = error;
+                    while ((cause instanceof CompletionException || cause instanceof UncheckedIOException)
+                            && cause.getCause() != null) {
+                        cause = cause.getCause();
+                    }
+                    LOGGER.error("❌ Error procesando {}: {}", contractFile, cause.getMessage());
+                    return ContractResult.failed(contractFile, cause, (System.nanoTime() - start) / 1_000_000);
+                });
+    }
+
+    private Job generate(Path contractFile, Path output) {
+        try {
+            ApiContract contract = ContractParser.forName(PARSER).parse(contractFile.toString());
+            if (!INCREMENTAL) {
+                return new Job(contractFile, contract,
+                        deduplicator.deduplicate(new ScenarioGenerator().generateAll(contract)), null, null);
+            }
+
+            IncrementalGenerator incrementalGenerator = new IncrementalGenerator(output.toString());
+            IncrementalGenerator.Plan plan = incrementalGenerator.plan(contract);
+            return new Job(contractFile, contract, plan.generate(new ScenarioGenerator(), deduplicator),
+                    incrementalGenerator, plan);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ContractResult write(Job job, Path output, long start) {
+        try {
+            if (job.plan != null) {
+                job.scenarios = job.enriched == null
+                        ? job.plan.assemble(job.scenarios)
+                        : job.plan.assemble(job.scenarios, job.enriched);
+            }
+            FeatureSharder sharder = FeatureSharder.fromConfig();
+            Map<String, FeatureContent> features = sharder.render(
+                    new KarateTemplateEngine(), job.contract, job.scenarios, output.toString());
+            writer.writeAll(features);
+            sharder.removeStaleShards(output.toString(), features.keySet());
+            if (job.incrementalGenerator != null) {
+                job.incrementalGenerator.save(job.plan);
+            }
+            return ContractResult.completed(job.contractFile, output, job.contract.getEndpoints().size(),
+                    job.scenarios.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Directorio (contratos .yml/.yaml directos) o glob (p. ej. contracts/**/*.yaml)
+    static List<Path> findContracts(String contracts) throws IOException {
+        Path baseDir = baseDirectory(contracts);
+        PathMatcher matcher = isGlob(contracts)
+                ? FileSystems.getDefault().getPathMatcher("glob:" + contracts.substring(globStart(contracts)))
+                : null;
+
+        if (!Files.isDirectory(baseDir)) {
+            throw new NoSuchFileException(baseDir.toString(), null, "No existe el directorio de contratos");
+        }
+
+        try (Stream<Path> files = Files.walk(baseDir, matcher == null ? 1 : Integer.MAX_VALUE)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> matcher != null
+                            ? matcher.matches(baseDir.relativize(file))
+                            : isContractFile(file))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isGlob(String contracts) {
+        return contracts.chars().anyMatch(c -> "*?[{".indexOf(c) >= 0);
+    }
+
+    private static boolean isContractFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".yml") || name.endsWith(".yaml");
+    }
+
+    // Parte fija del glob (hasta el último separador antes del primer comodín), desde donde se recorre
+    private static Path baseDirectory(String contracts) {
+        if (!isGlob(contracts)) {
+            return Paths.get(contracts);
+        }
+        int start = globStart(contracts);
+        if (start == 0) {
+            return Paths.get(".");
+        }
+        return Paths.get(start == 1 ? contracts.substring(0, 1) : contracts.substring(0, start - 1));
+    }
+
+    private static int globStart(String contracts) {
+        int wildcard = 0;
+        while (wildcard < contracts.length() && "*?[{".indexOf(contracts.charAt(wildcard)) < 0) {
+            wildcard++;
+        }
+        int separator = Math.max(contracts.lastIndexOf('/', wildcard), contracts.lastIndexOf('\\', wildcard));
+        return separator + 1;
+    }
+
+    // Mantiene la estructura relativa para que contratos homónimos en distintas carpetas no colisionen
+    private static Path outputFor(Path baseDir, Path contractFile, Path outputDir) {
+        String relative = baseDir.relativize(contractFile).toString();
+        int dot = relative.lastIndexOf('.');
+        return outputDir.resolve((dot > 0 ? relative.substring(0, dot) : relative) + ".feature");
+    }
+
+    private void logSummary(Summary summary, ScenarioEnricher enricher) {
+        LOGGER.info("═══════════════════════════════════════════");
+        LOGGER.info("GENERACIÓN EN LOTE COMPLETADA");
+        LOGGER.info("═══════════════════════════════════════════");
+        for (ContractResult result : summary.getResults()) {
+            if (result.isSuccess()) {
+                LOGGER.info("  ✓ {} → {}: {} endpoints, {} escenarios ({} ms)",
+                        result.getContract(), result.getOutput(), result.getEndpoints(),
+                        result.getScenarios(), result.getMillis());
+            } else {
+                LOGGER.info("  ✗ {}: {}", result.getContract(), result.getError());
+            }
+        }
+        LOGGER.info("Resumen:");
+        LOGGER.info("  - Contratos procesados: {} ({} con error)", summary.getResults().size(), summary.getFailed());
+        LOGGER.info("  - Endpoints procesados: {}", summary.getEndpoints());
+        LOGGER.info("  - Escenarios generados: {}", summary.getScenarios());
+        LOGGER.info("  - Ficheros escritos: {}, sin cambios: {}", writer.getWritten(), writer.getSkipped());
+        LOGGER.info("  - Tiempo total: {} ms", summary.getMillis());
+        deduplicator.logSummary();
+        if (enricher != null) {
+            enricher.logSummary();
+        }
+        LOGGER.info("═══════════════════════════════════════════");
+    }
+
+    private static class Job {
+        private final Path contractFile;
+        private final ApiContract contract;
+        private List<KarateScenario> scenarios;
+        private List<Boolean> enriched; // null = no pasó por la IA
+        private final IncrementalGenerator incrementalGenerator;
+        private final IncrementalGenerator.Plan plan;
+
+        private Job(Path contractFile, ApiContract contract, List<KarateScenario> scenarios,
+                    IncrementalGenerator incrementalGenerator, IncrementalGenerator.Plan plan) {
+            this.contractFile = contractFile;
+            this.contract = contract;
+            this.scenarios = scenarios;
+            this.incrementalGenerator = incrementalGenerator;
+            this.plan = plan;
+        }
+    }
+
+    public static class ContractResult {
+        private final Path contract;
+        private final Path output;
+        private final int endpoints;
+        private final int scenarios;
+        private final long millis;
+        private final String error;
+
+        private ContractResult(Path contract, Path output, int endpoints, int scenarios, long millis, String error) {
+            this.contract = contract;
+            this.output = output;
+            this.endpoints = endpoints;
+            this.scenarios = scenarios;
+            this.millis = millis;
+            this.error = error;
+        }
+
+        static ContractResult completed(Path contract, Path output, int endpoints, int scenarios, long millis) {
+            return new ContractResult(contract, output, endpoints, scenarios, millis, null);
+        }
+
+        static ContractResult failed(Path contract, Throwable error, long millis) {
+            return new ContractResult(contract, null, 0, 0, millis, String.valueOf(error.getMessage()));
+        }
+
+        public Path getContract() { return contract; }
+        public Path getOutput() { return output; }
+        public int getEndpoints() { return endpoints; }
+        public int getScenarios() { return scenarios; }
+        public long getMillis() { return millis; }
+        public String getError() { return error; }
+        public boolean isSuccess() { return error == null; }
+    }
+
+    public static class Summary {
+        private final List<ContractResult> results;
+        private final long millis;
+
+        public Summary(List<ContractResult> results, long millis) {
+            this.results = results;
+            this.millis = millis;
+        }
+
+        public List<ContractResult> getResults() { return results; }
+        public long getMillis() { return millis; }
+
+        public int getFailed() {
+            return (int) results.stream().filter(result -> !result.isSuccess()).count();
+        }
+
+        public int getEndpoints() {
+            return results.stream().mapToInt(ContractResult::getEndpoints).sum();
+        }
+
+        public int getScenarios() {
+            return results.stream().mapToInt(ContractResult::getScenarios).sum();
+        }
+    }
+}
@@ -8,9 +8,15 @@ public class ApiContract {
     private String description;
     private String baseUrl;
     private List<Endpoint> endpoints;
+    private Map<String, Schema> schemas; // components/schemas resueltos, compartidos por todos los $ref
+
+    // Índices para búsquedas O(1); se mantienen desde addEndpoint/setEndpoints
+    private final Map<String, Endpoint> endpointsByOperationId = new HashMap<>();
+    private final Map<String, Endpoint> endpointsByRoute = new HashMap<>();
 
     public ApiContract() {
         this.endpoints = new ArrayList<>();
+        this.schemas = new LinkedHashMap<>();
     }
 
     public String getTitle() { return title; }
@@ -25,15 +31,37 @@ public class ApiContract {
     public String getBaseUrl() { return baseUrl; }
     public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
 
-    public List<Endpoint> getEndpoints() { return endpoints; }
-    public void setEndpoints(List<Endpoint> endpoints) { this.endpoints = endpoints; }
-    public void addEndpoint(Endpoint endpoint) { this.endpoints.add(endpoint); }
+    // Vista de solo lectura: los cambios pasan por addEndpoint/setEndpoints para mantener los índices
+    public List<Endpoint> getEndpoints() { return Collections.unmodifiableList(endpoints); }
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = new ArrayList<>(endpoints);
+        endpointsByOperationId.clear();
+        endpointsByRoute.clear();
+        this.endpoints.forEach(this::index);
+    }
+    public void addEndpoint(Endpoint endpoint) {
+        this.endpoints.add(endpoint);
+        index(endpoint);
+    }
+
+    public Map<String, Schema> getSchemas() { return schemas; }
+    public void setSchemas(Map<String, Schema> schemas) { this.schemas = schemas; }
+    public Schema getSchema(String name) { return schemas.get(name); }
 
     public Endpoint getEndpointByOperationId(String operationId) {
-        return endpoints.stream()
-                .filter(e -> operationId.equals(e.getOperationId()))
-                .findFirst()
-                .orElse(null);
+        return operationId != null ? endpointsByOperationId.get(operationId) : null;
+    }
+
+    public Endpoint getEndpoint(HttpMethod method, String path) {
+        return endpointsByRoute.get(method + " " + path);
+    }
+
+    // Ante duplicados gana el primero, como en la búsqueda lineal
+    private void index(Endpoint endpoint) {
+        if (endpoint.getOperationId() != null) {
+            endpointsByOperationId.putIfAbsent(endpoint.getOperationId(), endpoint);
+        }
+        endpointsByRoute.putIfAbsent(endpoint.getMethod() + " " + endpoint.getPath(), endpoint);
     }
 
     @Override
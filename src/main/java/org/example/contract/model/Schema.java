@@ -14,6 +14,8 @@ public class Schema {
     private String pattern;
     private Schema items; // Para arrays
     private Object example;
+    private String componentName; // Nombre en components/schemas si es un schema compartido
+    private boolean recursive;    // Forma parte de un ciclo de $ref
 
     public Schema() {
         this.properties = new HashMap<>();
@@ -55,6 +57,12 @@ public class Schema {
     public Object getExample() { return example; }
     public void setExample(Object example) { this.example = example; }
 
+    public String getComponentName() { return componentName; }
+    public void setComponentName(String componentName) { this.componentName = componentName; }
+
+    public boolean isRecursive() { return recursive; }
+    public void setRecursive(boolean recursive) { this.recursive = recursive; }
+
     @Override
     public String toString() {
         return String.format("Schema{type='%s', properties=%d, required=%d}",
@@ -0,0 +1,23 @@
+package org.example.contract.parser;
+
+import org.example.contract.model.ApiContract;
+
+import java.io.IOException;
+
+public interface ContractParser {
+
+    // Parser usado cuando ContractParser no está configurado
+    String DEFAULT = "tree";
+
+    ApiContract parse(String yamlPath) throws IOException;
+
+    // "streaming" recorre los tokens sin construir el árbol intermedio; "tree" carga el documento en un Map
+    static ContractParser forName(String name) {
+        String parser = name == null || name.isBlank() ? DEFAULT : name.trim().toLowerCase();
+        return switch (parser) {
+            case "streaming" -> new StreamingContractParser();
+            case "tree" -> new YamlContractParser();
+            default -> throw new IllegalArgumentException("Parser de contratos desconocido: " + name);
+        };
+    }
+}
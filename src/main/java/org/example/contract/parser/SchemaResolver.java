@@ -0,0 +1,132 @@
+package org.example.contract.parser;
+
+import org.example.contract.model.Parameter;
+import org.example.contract.model.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+// Resuelve los $ref a components/schemas compartiendo una única instancia de Schema por componente.
+// Un $ref puede aparecer antes que su definición: se entrega la instancia vacía y el parser
+// la rellena al llegar a components. Al terminar se detectan ciclos y referencias sin definir
+class SchemaResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaResolver.class);
+    private static final String COMPONENTS_PREFIX = "#/components/schemas/";
+
+    private final Map<String, Schema> components = new LinkedHashMap<>();
+    private final Set<String> defined = new HashSet<>();
+    private final List<Runnable> deferred = new ArrayList<>();
+
+    // Instancia a rellenar con la definición del componente
+    Schema define(String name) {
+        defined.add(name);
+        return component(name);
+    }
+
+    Schema resolve(String ref) {
+        return component(nameOf(ref));
+    }
+
+    // Para quien copia campos del schema (p. ej. parámetros): se ejecuta cuando ya está definido
+    void whenResolved(String ref, Consumer<Schema> action) {
+        Schema schema = resolve(ref);
+        deferred.add(() -> action.accept(schema));
+    }
+
+    static void copyToParameter(Schema schema, Parameter param) {
+        param.setType(schema.getType());
+        param.setFormat(schema.getFormat());
+        param.setExample(schema.getExample());
+        param.setMinLength(schema.getMinLength());
+        param.setMaxLength(schema.getMaxLength());
+    }
+
+    Map<String, Schema> finish() {
+        deferred.forEach(Runnable::run);
+        deferred.clear();
+
+        for (String name : components.keySet()) {
+            if (!defined.contains(name)) {
+                LOGGER.warn("⚠️  $ref sin definir: {}{}", COMPONENTS_PREFIX, name);
+            }
+        }
+
+        markCycles();
+        return components;
+    }
+
+    private Schema component(String name) {
+        return components.computeIfAbsent(name, n -> {
+            Schema schema = new Schema();
+            schema.setComponentName(n);
+            return schema;
+        });
+    }
+
+    private String nameOf(String ref) {
+        if (ref.startsWith(COMPONENTS_PREFIX)) {
+            return ref.substring(COMPONENTS_PREFIX.length());
+        }
+        // Referencias externas o a otras secciones: quedan como componente sin definir
+        return ref;
+    }
+
+    // DFS sobre el grafo de schemas: un arco hacia un nodo en curso cierra un ciclo
+    private void markCycles() {
+        Map<Schema, Boolean> visiting = new IdentityHashMap<>();
+        Deque<Schema> stack = new ArrayDeque<>();
+        int cycles = 0;
+
+        for (Schema schema : components.values()) {
+            cycles += visit(schema, visiting, stack);
+        }
+
+        if (cycles > 0) {
+            LOGGER.info("🔁 Referencias cíclicas detectadas: {}", cycles);
+        }
+    }
+
+    private int visit(Schema schema, Map<Schema, Boolean> visiting, Deque<Schema> stack) {
+        Boolean state = visiting.get(schema);
+        if (state != null) {
+            if (state) {
+                markRecursive(schema, stack);
+                return 1;
+            }
+            return 0;
+        }
+
+        visiting.put(schema, true);
+        stack.push(schema);
+
+        int cycles = 0;
+        if (schema.getProperties() != null) {
+            for (Schema property : schema.getProperties().values()) {
+                cycles += visit(property, visiting, stack);
+            }
+        }
+        if (schema.getItems() != null) {
+            cycles += visit(schema.getItems(), visiting, stack);
+        }
+
+        stack.pop();
+        visiting.put(schema, false);
+        return cycles;
+    }
+
+    // Marca los componentes del camino desde el nodo repetido hasta la cima de la pila
+    private void markRecursive(Schema target, Deque<Schema> stack) {
+        for (Schema schema : stack) {
+            if (schema.getComponentName() != null) {
+                schema.setRecursive(true);
+                LOGGER.debug("  🔁 Schema recursivo: {}", schema.getComponentName());
+            }
+            if (schema == target) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package org.example.contract.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.example.contract.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Parser basado en el flujo de tokens de Jackson: construye el modelo directamente
+// sin materializar el documento como Map. Todo lo que no se lee (extensiones x-,
+// bloques examples, media types distintos de application/json...) se salta con skipChildren()
+public class StreamingContractParser implements ContractParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingContractParser.class);
+    private static final String JSON_MEDIA_TYPE = "application/json";
+
+    private final ObjectMapper yamlMapper;
+
+    public StreamingContractParser() {
+        this.yamlMapper = new ObjectMapper(new YAMLFactory());
+    }
+
+    @Override
+    public ApiContract parse(String yamlPath) throws IOException {
+        LOGGER.info("📄 Parseando contrato: {}", yamlPath);
+
+        ApiContract contract = new ApiContract();
+        SchemaResolver resolver = new SchemaResolver();
+        try (JsonParser parser = yamlMapper.getFactory().createParser(new File(yamlPath))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("El contrato no es un objeto YAML: " + yamlPath);
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "info" -> parseInfo(parser, contract);
+                    case "servers" -> parseServers(parser, contract);
+                    case "paths" -> parsePaths(parser, contract, resolver);
+                    case "components" -> parseComponents(parser, resolver);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        contract.setSchemas(resolver.finish());
+
+        LOGGER.info("Contrato parseado: {} endpoints encontrados", contract.getEndpoints().size());
+        return contract;
+    }
+
+    private void parseInfo(JsonParser parser, ApiContract contract) throws IOException {
+        if (!isObject(parser)) return;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "title" -> contract.setTitle(text(parser));
+                case "version" -> contract.setVersion(text(parser));
+                case "description" -> contract.setDescription(text(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseServers(JsonParser parser, ApiContract contract) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        // Solo interesa la URL del primer servidor
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (first && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("url".equals(field)) {
+                        contract.setBaseUrl(text(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+            first = false;
+        }
+    }
+
+    private void parsePaths(JsonParser parser, ApiContract contract, SchemaResolver resolver) throws IOException {
+        if (!isObject(parser)) return;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String path = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String method = parser.currentName().toUpperCase();
+                parser.nextToken();
+
+                // Ignorar si no es un método HTTP válido (parameters, servers, x-...)
+                if (!isValidHttpMethod(method) || parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                Endpoint endpoint = parseEndpoint(parser, path, method, resolver);
+                contract.addEndpoint(endpoint);
+
+                LOGGER.debug("  ✓ Parseado: {} {}", method, path);
+            }
+        }
+    }
+
+    // Cada schema de components se parsea una vez sobre la instancia que comparten sus $ref
+    private void parseComponents(JsonParser parser, SchemaResolver resolver) throws IOException {
+        if (!isObject(parser)) return;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String section = parser.currentName();
+            parser.nextToken();
+            if (!"schemas".equals(section) || !isObject(parser)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseSchemaFields(parser, resolver.define(name), resolver);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private boolean isValidHttpMethod(String method) {
+        try {
+            HttpMethod.valueOf(method);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Endpoint parseEndpoint(JsonParser parser, String path, String method, SchemaResolver resolver) throws IOException {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setPath(path);
+        endpoint.setMethod(HttpMethod.valueOf(method));
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "summary" -> endpoint.setSummary(text(parser));
+                case "description" -> endpoint.setDescription(text(parser));
+                case "operationId" -> endpoint.setOperationId(text(parser));
+                case "tags" -> {
+                    List<String> tags = textList(parser);
+                    if (tags != null) {
+                        endpoint.setTags(tags);
+                    }
+                }
+                case "parameters" -> {
+                    if (parser.currentToken() == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                                endpoint.addParameter(parseParameter(parser, resolver));
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "requestBody" -> {
+                    if (isObject(parser)) {
+                        endpoint.setRequestBody(parseContentSchema(parser, resolver));
+                    }
+                }
+                case "responses" -> parseResponses(parser, endpoint, resolver);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return endpoint;
+    }
+
+    private void parseResponses(JsonParser parser, Endpoint endpoint, SchemaResolver resolver) throws IOException {
+        if (!isObject(parser)) return;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int statusCode = Integer.parseInt(parser.currentName());
+            parser.nextToken();
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            Response response = new Response();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "description" -> response.setDescription(text(parser));
+                    case "content" -> {
+                        Schema schema = parseJsonContent(parser, resolver);
+                        if (schema != null) {
+                            response.setSchema(schema);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            endpoint.addResponse(statusCode, response);
+        }
+    }
+
+    private Parameter parseParameter(JsonParser parser, SchemaResolver resolver) throws IOException {
+        Parameter param = new Parameter();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "name" -> param.setName(text(parser));
+                case "in" -> param.setIn(text(parser));
+                case "description" -> param.setDescription(text(parser));
+                case "required" -> param.setRequired(parser.currentToken() == JsonToken.VALUE_TRUE);
+                case "schema" -> {
+                    // Schema del parámetro
+                    if (!isObject(parser)) break;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String schemaField = parser.currentName();
+                        parser.nextToken();
+
+                        switch (schemaField) {
+                            case "type" -> param.setType(text(parser));
+                            case "format" -> param.setFormat(text(parser));
+                            case "example" -> param.setExample(value(parser));
+                            case "minLength" -> param.setMinLength(integer(parser));
+                            case "maxLength" -> param.setMaxLength(integer(parser));
+                            case "$ref" -> {
+                                String ref = text(parser);
+                                if (ref != null) {
+                                    resolver.whenResolved(ref, resolved -> SchemaResolver.copyToParameter(resolved, param));
+                                }
+                            }
+                            default -> parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return param;
+    }
+
+    // Recorre un objeto requestBody hasta su content
+    private Schema parseContentSchema(JsonParser parser, SchemaResolver resolver) throws IOException {
+        Schema schema = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("content".equals(field)) {
+                schema = parseJsonContent(parser, resolver);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return schema;
+    }
+
+    // Solo application/json: el resto de media types se salta sin leer
+    private Schema parseJsonContent(JsonParser parser, SchemaResolver resolver) throws IOException {
+        if (!isObject(parser)) return null;
+
+        Schema schema = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String mediaType = parser.currentName();
+            parser.nextToken();
+            if (!JSON_MEDIA_TYPE.equals(mediaType) || parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("schema".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    schema = parseSchema(parser, resolver);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return schema;
+    }
+
+    // En OpenAPI 3.0 los hermanos de un $ref se ignoran: se devuelve la instancia compartida
+    private Schema parseSchema(JsonParser parser, SchemaResolver resolver) throws IOException {
+        Schema schema = new Schema();
+        String ref = parseSchemaFields(parser, schema, resolver);
+        return ref != null ? resolver.resolve(ref) : schema;
+    }
+
+    private String parseSchemaFields(JsonParser parser, Schema schema, SchemaResolver resolver) throws IOException {
+        String ref = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "$ref" -> ref = text(parser);
+                case "type" -> schema.setType(text(parser));
+                case "format" -> schema.setFormat(text(parser));
+                case "pattern" -> schema.setPattern(text(parser));
+                case "example" -> schema.setExample(value(parser));
+                case "minLength" -> schema.setMinLength(integer(parser));
+                case "maxLength" -> schema.setMaxLength(integer(parser));
+                case "minimum" -> schema.setMinimum(integer(parser));
+                case "maximum" -> schema.setMaximum(integer(parser));
+                case "required" -> {
+                    List<String> required = textList(parser);
+                    if (required != null) {
+                        schema.setRequired(required);
+                    }
+                }
+                case "properties" -> {
+                    // Properties (para objects)
+                    if (!isObject(parser)) break;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String propName = parser.currentName();
+                        if (parser.nextToken() == JsonToken.START_OBJECT) {
+                            schema.addProperty(propName, parseSchema(parser, resolver));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                case "items" -> {
+                    // Items (para arrays)
+                    if (isObject(parser)) {
+                        schema.setItems(parseSchema(parser, resolver));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return ref;
+    }
+
+    // Si el valor actual no es un objeto lo salta y devuelve false
+    private boolean isObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    private String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Integer integer(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private List<String> textList(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String value = text(parser);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    // Los ejemplos se materializan igual que en el parser en árbol (String, Integer, Map, List...)
+    private Object value(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return yamlMapper.readValue(parser, Object.class);
+    }
+}
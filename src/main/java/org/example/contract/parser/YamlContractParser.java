@@ -11,7 +11,7 @@ import java.io.IOException;
 import java.util.*;
 
 @SuppressWarnings("unchecked")
-public class YamlContractParser {
+public class YamlContractParser implements ContractParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(YamlContractParser.class);
     private final ObjectMapper yamlMapper;
@@ -20,6 +20,7 @@ public class YamlContractParser {
         this.yamlMapper = new ObjectMapper(new YAMLFactory());
     }
 
+    @Override
     public ApiContract parse(String yamlPath) throws IOException {
         LOGGER.info("📄 Parseando contrato: {}", yamlPath);
 
@@ -27,6 +28,7 @@ public class YamlContractParser {
         Map<String, Object> data = yamlMapper.readValue(yamlFile, Map.class);
 
         ApiContract contract = new ApiContract();
+        SchemaResolver resolver = new SchemaResolver();
 
         // Info básica
         Map<String, Object> info = (Map<String, Object>) data.get("info");
@@ -56,7 +58,7 @@ public class YamlContractParser {
                     if (!isValidHttpMethod(method)) continue;
 
                     Map<String, Object> spec = (Map<String, Object>) methodEntry.getValue();
-                    Endpoint endpoint = parseEndpoint(path, method, spec);
+                    Endpoint endpoint = parseEndpoint(path, method, spec, resolver);
                     contract.addEndpoint(endpoint);
 
                     LOGGER.debug("  ✓ Parseado: {} {}", method, path);
@@ -64,6 +66,16 @@ public class YamlContractParser {
             }
         }
 
+        // Componentes: cada schema se parsea una vez sobre la instancia que comparten sus $ref
+        Map<String, Object> components = (Map<String, Object>) data.get("components");
+        if (components != null && components.get("schemas") != null) {
+            Map<String, Object> schemas = (Map<String, Object>) components.get("schemas");
+            for (Map.Entry<String, Object> entry : schemas.entrySet()) {
+                parseSchemaInto(resolver.define(entry.getKey()), (Map<String, Object>) entry.getValue(), resolver);
+            }
+        }
+        contract.setSchemas(resolver.finish());
+
         LOGGER.info("Contrato parseado: {} endpoints encontrados", contract.getEndpoints().size());
         return contract;
     }
@@ -77,7 +89,7 @@ public class YamlContractParser {
         }
     }
 
-    private Endpoint parseEndpoint(String path, String method, Map<String, Object> spec) {
+    private Endpoint parseEndpoint(String path, String method, Map<String, Object> spec, SchemaResolver resolver) {
         Endpoint endpoint = new Endpoint();
         endpoint.setPath(path);
         endpoint.setMethod(HttpMethod.valueOf(method));
@@ -95,14 +107,14 @@ public class YamlContractParser {
         List<Map<String, Object>> parameters = (List<Map<String, Object>>) spec.get("parameters");
         if (parameters != null) {
             for (Map<String, Object> paramMap : parameters) {
-                endpoint.addParameter(parseParameter(paramMap));
+                endpoint.addParameter(parseParameter(paramMap, resolver));
             }
         }
 
         // Request Body
         Map<String, Object> requestBody = (Map<String, Object>) spec.get("requestBody");
         if (requestBody != null) {
-            endpoint.setRequestBody(parseRequestBody(requestBody));
+            endpoint.setRequestBody(parseRequestBody(requestBody, resolver));
         }
 
         // Responses
@@ -111,14 +123,14 @@ public class YamlContractParser {
             for (Map.Entry<String, Object> entry : responses.entrySet()) {
                 int statusCode = Integer.parseInt(entry.getKey());
                 Map<String, Object> responseSpec = (Map<String, Object>) entry.getValue();
-                endpoint.addResponse(statusCode, parseResponse(responseSpec));
+                endpoint.addResponse(statusCode, parseResponse(responseSpec, resolver));
             }
         }
 
         return endpoint;
     }
 
-    private Parameter parseParameter(Map<String, Object> paramMap) {
+    private Parameter parseParameter(Map<String, Object> paramMap, SchemaResolver resolver) {
         Parameter param = new Parameter();
         param.setName((String) paramMap.get("name"));
         param.setIn((String) paramMap.get("in"));
@@ -129,7 +141,9 @@ public class YamlContractParser {
 
         // Schema del parámetro
         Map<String, Object> schema = (Map<String, Object>) paramMap.get("schema");
-        if (schema != null) {
+        if (schema != null && schema.get("$ref") != null) {
+            resolver.whenResolved((String) schema.get("$ref"), resolved -> SchemaResolver.copyToParameter(resolved, param));
+        } else if (schema != null) {
             param.setType((String) schema.get("type"));
             param.setFormat((String) schema.get("format"));
             param.setExample(schema.get("example"));
@@ -145,7 +159,7 @@ public class YamlContractParser {
         return param;
     }
 
-    private Schema parseRequestBody(Map<String, Object> requestBodyMap) {
+    private Schema parseRequestBody(Map<String, Object> requestBodyMap, SchemaResolver resolver) {
         Map<String, Object> content = (Map<String, Object>) requestBodyMap.get("content");
         if (content == null) return null;
 
@@ -154,10 +168,10 @@ public class YamlContractParser {
         if (jsonContent == null) return null;
 
         Map<String, Object> schemaMap = (Map<String, Object>) jsonContent.get("schema");
-        return schemaMap != null ? parseSchema(schemaMap) : null;
+        return schemaMap != null ? parseSchema(schemaMap, resolver) : null;
     }
 
-    private Response parseResponse(Map<String, Object> responseMap) {
+    private Response parseResponse(Map<String, Object> responseMap, SchemaResolver resolver) {
         Response response = new Response();
         response.setDescription((String) responseMap.get("description"));
 
@@ -167,7 +181,7 @@ public class YamlContractParser {
             if (jsonContent != null) {
                 Map<String, Object> schemaMap = (Map<String, Object>) jsonContent.get("schema");
                 if (schemaMap != null) {
-                    response.setSchema(parseSchema(schemaMap));
+                    response.setSchema(parseSchema(schemaMap, resolver));
                 }
             }
         }
@@ -175,8 +189,16 @@ public class YamlContractParser {
         return response;
     }
 
-    private Schema parseSchema(Map<String, Object> schemaMap) {
-        Schema schema = new Schema();
+    private Schema parseSchema(Map<String, Object> schemaMap, SchemaResolver resolver) {
+        // En OpenAPI 3.0 los hermanos de un $ref se ignoran
+        Object ref = schemaMap.get("$ref");
+        if (ref != null) {
+            return resolver.resolve((String) ref);
+        }
+        return parseSchemaInto(new Schema(), schemaMap, resolver);
+    }
+
+    private Schema parseSchemaInto(Schema schema, Map<String, Object> schemaMap, SchemaResolver resolver) {
         schema.setType((String) schemaMap.get("type"));
         schema.setFormat((String) schemaMap.get("format"));
         schema.setPattern((String) schemaMap.get("pattern"));
@@ -207,14 +229,14 @@ public class YamlContractParser {
             for (Map.Entry<String, Object> entry : properties.entrySet()) {
                 String propName = entry.getKey();
                 Map<String, Object> propSchema = (Map<String, Object>) entry.getValue();
-                schema.addProperty(propName, parseSchema(propSchema));
+                schema.addProperty(propName, parseSchema(propSchema, resolver));
             }
         }
 
         // Items (para arrays)
         Map<String, Object> items = (Map<String, Object>) schemaMap.get("items");
         if (items != null) {
-            schema.setItems(parseSchema(items));
+            schema.setItems(parseSchema(items, resolver));
         }
 
         return schema;
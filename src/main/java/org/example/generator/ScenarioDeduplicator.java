@@ -0,0 +1,175 @@
+package org.example.generator;
+
+import org.example.generator.model.KarateScenario;
+import org.example.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Etapa entre ScenarioGenerator y ScenarioEnricher: las estrategias se solapan y generan
+// escenarios estructuralmente idénticos que pagarían cada uno su llamada a la IA.
+// Clave: método + status esperado + steps en su orden original con los espacios colapsados.
+// El orden importa en Karate (los path se concatenan, def/set/remove dependen de los anteriores)
+public class ScenarioDeduplicator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioDeduplicator.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern KEYWORD = Pattern.compile("^(Given|When|Then|And|But|\\*)\\s+");
+
+    public enum Mode { NONE, DROP, MERGE }
+
+    private final Mode mode;
+    private final int batchSize;
+    private final boolean useIA;
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicInteger avoidedCalls = new AtomicInteger();
+
+    public ScenarioDeduplicator(Mode mode, int batchSize, boolean useIA) {
+        this.mode = mode;
+        this.batchSize = Math.max(1, batchSize);
+        this.useIA = useIA;
+    }
+
+    public static ScenarioDeduplicator fromConfig() {
+        String mode = ConfigReader.getPropertyByKey("ScenarioDeduplication", "none").trim();
+        int batchSize = Integer.parseInt(ConfigReader.getPropertyByKey("IABatchSize", "1").trim());
+        boolean useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA", "false"));
+        try {
+            return new ScenarioDeduplicator(Mode.valueOf(mode.isEmpty() ? "NONE" : mode.toUpperCase()),
+                    batchSize, useIA);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ScenarioDeduplication desconocido: " + mode + " (none, drop, merge)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.NONE;
+    }
+
+    public List<KarateScenario> deduplicate(List<KarateScenario> scenarios) {
+        if (!isEnabled() || scenarios.size() < 2) {
+            return scenarios;
+        }
+
+        Map<String, KarateScenario> unique = new LinkedHashMap<>();
+        for (KarateScenario scenario : scenarios) {
+            String key = key(scenario);
+            KarateScenario first = unique.putIfAbsent(key, scenario);
+            if (first == null) continue;
+
+            LOGGER.debug("  ✂️  Duplicado: '{}' igual a '{}'", scenario.getName(), first.getName());
+            if (mode == Mode.MERGE) {
+                List<String> missing = scenario.getTags().stream()
+                        .filter(tag -> !first.getTags().contains(tag))
+                        .toList();
+                if (!missing.isEmpty()) {
+                    unique.put(key, withTags(first, missing));
+                }
+            }
+        }
+
+        if (unique.size() == scenarios.size()) {
+            return scenarios;
+        }
+
+        List<KarateScenario> result = new ArrayList<>(unique.values());
+        duplicates.addAndGet(scenarios.size() - result.size());
+        if (useIA) {
+            avoidedCalls.addAndGet(requests(scenarios) - requests(result));
+        }
+        return result;
+    }
+
+    // Deduplica cada endpoint por separado y conserva la estructura de la lista
+    public List<List<KarateScenario>> deduplicateByEndpoint(List<List<KarateScenario>> byEndpoint) {
+        if (!isEnabled()) {
+            return byEndpoint;
+        }
+
+        List<List<KarateScenario>> result = new ArrayList<>(byEndpoint.size());
+        for (List<KarateScenario> scenarios : byEndpoint) {
+            result.add(deduplicate(scenarios));
+        }
+        return result;
+    }
+
+    public int getDuplicates() {
+        return duplicates.get();
+    }
+
+    public int getAvoidedCalls() {
+        return avoidedCalls.get();
+    }
+
+    public void logSummary() {
+        if (!isEnabled()) return;
+
+        LOGGER.info("  - Escenarios duplicados {}: {}",
+                mode == Mode.MERGE ? "fusionados" : "descartados", getDuplicates());
+        if (useIA) {
+            LOGGER.info("  - Llamadas IA evitadas por deduplicación: {}", getAvoidedCalls());
+        }
+    }
+
+    // Peticiones que haría ScenarioEnricher: lotes de hasta IABatchSize escenarios por operationId
+    private int requests(List<KarateScenario> scenarios) {
+        if (batchSize == 1) {
+            return scenarios.size();
+        }
+
+        Map<String, Integer> byOperationId = new HashMap<>();
+        for (KarateScenario scenario : scenarios) {
+            byOperationId.merge(String.valueOf(scenario.getOperationId()), 1, Integer::sum);
+        }
+        int requests = 0;
+        for (int count : byOperationId.values()) {
+            requests += (count + batchSize - 1) / batchSize;
+        }
+        return requests;
+    }
+
+    // Los escenarios de entrada pertenecen al generador (y al manifiesto incremental): la fusión
+    // de tags se hace sobre una copia
+    private static KarateScenario withTags(KarateScenario scenario, List<String> extraTags) {
+        KarateScenario merged = new KarateScenario();
+        merged.setName(scenario.getName());
+        merged.setOperationId(scenario.getOperationId());
+        merged.setDescription(scenario.getDescription());
+        List<String> tags = new ArrayList<>(scenario.getTags());
+        tags.addAll(extraTags);
+        merged.setTags(tags);
+        merged.setSteps(new ArrayList<>(scenario.getSteps()));
+        if (scenario.hasExamples()) {
+            merged.setExamples(new ArrayList<>(scenario.getExamples()));
+        }
+        return merged;
+    }
+
+    static String key(KarateScenario scenario) {
+        String method = null;
+        String status = null;
+        StringBuilder steps = new StringBuilder();
+
+        for (String step : scenario.getSteps()) {
+            String normalized = WHITESPACE.matcher(step.trim()).replaceAll(" ");
+            String body = KEYWORD.matcher(normalized).replaceFirst("");
+            if (method == null && body.startsWith("method ")) {
+                method = body.substring("method ".length());
+            } else if (status == null && body.startsWith("status ")) {
+                status = body.substring("status ".length());
+            }
+            steps.append('\n').append(normalized);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(method).append('|').append(status).append(steps);
+        // Dos Scenario Outline con los mismos steps solo son duplicados si también coinciden sus Examples
+        if (scenario.hasExamples()) {
+            sb.append("\n--").append(scenario.getExamples());
+        }
+        return sb.toString();
+    }
+}
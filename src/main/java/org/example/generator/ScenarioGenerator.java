@@ -1,28 +1,40 @@
 package org.example.generator;
 
 import org.example.contract.model.*;
+import org.example.generator.model.CompiledEndpoint;
 import org.example.generator.model.KarateScenario;
+import org.example.generator.model.RequestBodyTemplate;
 import org.example.generator.strategy.*;
 import org.example.utils.ConfigReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class ScenarioGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioGenerator.class);
     private final List<ScenarioStrategy> strategies;
 
+    // Las estrategias son funciones puras del Endpoint: cada par endpoint×estrategia se genera
+    // en paralelo y los resultados se unen en el orden serie. Por debajo del umbral no compensa
+    private boolean parallel = Boolean.parseBoolean(
+            ConfigReader.getPropertyByKey("ParallelGeneration", "false"));
+    private int parallelThreshold = Integer.parseInt(
+            ConfigReader.getPropertyByKey("ParallelGenerationThreshold", "64").trim());
+
     public ScenarioGenerator() {
         this.strategies = new ArrayList<>();
+        // Validaciones y edge cases por campo agrupados en Scenario Outline + Examples
+        boolean outlines = Boolean.parseBoolean(ConfigReader.getPropertyByKey("ScenarioOutlines", "false"));
 
         if (Boolean.parseBoolean(ConfigReader.getPropertyByKey("GenerateHappyPath"))) {
             strategies.add(new HappyPathStrategy());
         }
 
         if (Boolean.parseBoolean(ConfigReader.getPropertyByKey("GenerateValidations"))) {
-            strategies.add(new ValidationStrategy());
+            strategies.add(new ValidationStrategy(outlines));
         }
 
         if (Boolean.parseBoolean(ConfigReader.getPropertyByKey("GenerateErrorCases"))) {
@@ -30,11 +42,15 @@ public class ScenarioGenerator {
         }
 
         if (Boolean.parseBoolean(ConfigReader.getPropertyByKey("GenerateEdgeCases"))) {
-            strategies.add(new EdgeCaseStrategy());
+            strategies.add(new EdgeCaseStrategy(outlines));
         }
     }
 
     public List<KarateScenario> generate(Endpoint endpoint) {
+        return generate(CompiledEndpoint.of(endpoint));
+    }
+
+    public List<KarateScenario> generate(CompiledEndpoint endpoint) {
         LOGGER.info("🔨 Generando escenarios para: {} {}",
                 endpoint.getMethod(), endpoint.getPath());
 
@@ -52,12 +68,62 @@ public class ScenarioGenerator {
     }
 
     public List<KarateScenario> generateAll(ApiContract contract) {
+        return generateAll(contract.getEndpoints());
+    }
+
+    public List<KarateScenario> generateAll(List<Endpoint> endpoints) {
         List<KarateScenario> allScenarios = new ArrayList<>();
 
-        for (Endpoint endpoint : contract.getEndpoints()) {
-            allScenarios.addAll(generate(endpoint));
+        for (List<KarateScenario> scenarios : generateByEndpoint(endpoints)) {
+            allScenarios.addAll(scenarios);
         }
 
         return allScenarios;
     }
+
+    // Escenarios de cada endpoint, en el mismo orden que endpoints
+    public List<List<KarateScenario>> generateByEndpoint(List<Endpoint> endpoints) {
+        int units = endpoints.size() * strategies.size();
+        Map<Schema, RequestBodyTemplate> templates = new IdentityHashMap<>();
+        if (!parallel || units < parallelThreshold) {
+            List<List<KarateScenario>> result = new ArrayList<>(endpoints.size());
+            for (Endpoint endpoint : endpoints) {
+                result.add(generate(CompiledEndpoint.of(endpoint, templates)));
+            }
+            return result;
+        }
+
+        LOGGER.info("🔨 Generando escenarios en paralelo: {} endpoints × {} estrategias",
+                endpoints.size(), strategies.size());
+
+        // La vista compilada se construye una vez por endpoint y la comparten todas sus estrategias
+        List<CompiledEndpoint> compiled = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            compiled.add(CompiledEndpoint.of(endpoint, templates));
+        }
+
+        // Un stream paralelo usa el ForkJoinPool desde el que se invoca (modo lote) o el común
+        List<List<KarateScenario>> byUnit = new ArrayList<>(Collections.nCopies(units, null));
+        IntStream.range(0, units).parallel().forEach(unit -> {
+            CompiledEndpoint endpoint = compiled.get(unit / strategies.size());
+            ScenarioStrategy strategy = strategies.get(unit % strategies.size());
+            byUnit.set(unit, strategy.generateScenarios(endpoint));
+        });
+
+        List<List<KarateScenario>> result = new ArrayList<>(endpoints.size());
+        for (int e = 0; e < endpoints.size(); e++) {
+            List<KarateScenario> endpointScenarios = new ArrayList<>();
+            for (int st = 0; st < strategies.size(); st++) {
+                endpointScenarios.addAll(byUnit.get(e * strategies.size() + st));
+            }
+            result.add(endpointScenarios);
+        }
+        return result;
+    }
+
+    public boolean isParallel() { return parallel; }
+    public void setParallel(boolean parallel) { this.parallel = parallel; }
+
+    public int getParallelThreshold() { return parallelThreshold; }
+    public void setParallelThreshold(int parallelThreshold) { this.parallelThreshold = parallelThreshold; }
 }
\ No newline at end of file
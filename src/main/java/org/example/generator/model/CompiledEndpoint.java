@@ -0,0 +1,111 @@
+package org.example.generator.model;
+
+import org.example.contract.model.*;
+
+import java.util.*;
+
+// Vista inmutable de un Endpoint para las estrategias: particiones de parámetros, auth,
+// respuestas y prefijos de steps se calculan una sola vez por endpoint y no por escenario
+public final class CompiledEndpoint {
+
+    public static final String AUTH_STEP = "And header Authorization = 'Bearer ' + token";
+    private static final int[] SUCCESS_CODES = {200, 201, 204};
+
+    private final Endpoint endpoint;
+    private final List<Parameter> parameters;
+    private final List<Parameter> pathParams;
+    private final List<Parameter> queryParams;
+    private final List<Parameter> headerParams;
+    private final boolean needsAuth;
+    private final Response successResponse;
+    private final List<Response> errorResponses;
+    private final RequestBodyTemplate bodyTemplate;
+    private final String urlStep;
+    private final String methodStep;
+
+    private CompiledEndpoint(Endpoint endpoint, Map<Schema, RequestBodyTemplate> templates) {
+        this.endpoint = endpoint;
+
+        List<Parameter> path = new ArrayList<>();
+        List<Parameter> query = new ArrayList<>();
+        List<Parameter> header = new ArrayList<>();
+        boolean auth = false;
+        for (Parameter param : endpoint.getParameters()) {
+            switch (String.valueOf(param.getIn())) {
+                case "path" -> path.add(param);
+                case "query" -> query.add(param);
+                case "header" -> {
+                    header.add(param);
+                    auth |= "Authorization".equalsIgnoreCase(param.getName());
+                }
+                default -> { }
+            }
+        }
+        this.parameters = List.copyOf(endpoint.getParameters());
+        this.pathParams = List.copyOf(path);
+        this.queryParams = List.copyOf(query);
+        this.headerParams = List.copyOf(header);
+        this.needsAuth = auth;
+
+        Response success = null;
+        for (int code : SUCCESS_CODES) {
+            success = endpoint.getResponse(code);
+            if (success != null) break;
+        }
+        this.successResponse = success;
+
+        // Mismo orden de iteración que el mapa de respuestas del endpoint
+        List<Response> errors = new ArrayList<>();
+        for (Response response : endpoint.getResponses().values()) {
+            if (response.getStatusCode() >= 400) {
+                errors.add(response);
+            }
+        }
+        this.errorResponses = List.copyOf(errors);
+
+        this.bodyTemplate = endpoint.hasRequestBody()
+                ? templates.computeIfAbsent(endpoint.getRequestBody(), RequestBodyTemplate::compile)
+                : null;
+
+        this.urlStep = "Given url baseUrl + '" + endpoint.getPath() + "'";
+        this.methodStep = "When method " + endpoint.getMethod();
+    }
+
+    public static CompiledEndpoint of(Endpoint endpoint) {
+        return new CompiledEndpoint(endpoint, new IdentityHashMap<>());
+    }
+
+    // templates se comparte entre endpoints para compilar una sola vez cada Schema de request
+    // (p. ej. POST y PUT sobre el mismo componente). No es thread-safe
+    public static CompiledEndpoint of(Endpoint endpoint, Map<Schema, RequestBodyTemplate> templates) {
+        return new CompiledEndpoint(endpoint, templates);
+    }
+
+    public Endpoint getEndpoint() { return endpoint; }
+
+    public String getPath() { return endpoint.getPath(); }
+    public HttpMethod getMethod() { return endpoint.getMethod(); }
+    public String getSummary() { return endpoint.getSummary(); }
+    public String getOperationId() { return endpoint.getOperationId(); }
+
+    public Schema getRequestBody() { return endpoint.getRequestBody(); }
+    public boolean hasRequestBody() { return endpoint.hasRequestBody(); }
+    public RequestBodyTemplate getBodyTemplate() { return bodyTemplate; }
+
+    public List<Parameter> getParameters() { return parameters; }
+    public List<Parameter> getPathParams() { return pathParams; }
+    public List<Parameter> getQueryParams() { return queryParams; }
+    public List<Parameter> getHeaderParams() { return headerParams; }
+    public boolean needsAuth() { return needsAuth; }
+
+    public Response getSuccessResponse() { return successResponse; }
+    public List<Response> getErrorResponses() { return errorResponses; }
+
+    public String getUrlStep() { return urlStep; }
+    public String getMethodStep() { return methodStep; }
+
+    @Override
+    public String toString() {
+        return "Compiled" + endpoint;
+    }
+}
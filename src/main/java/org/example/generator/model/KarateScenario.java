@@ -1,5 +1,7 @@
 package org.example.generator.model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 public class KarateScenario {
@@ -8,10 +10,14 @@ public class KarateScenario {
     private List<String> tags;
     private List<String> steps;
     private String description;
+    // Filas de Examples: con alguna fila el escenario se escribe como Scenario Outline y sus
+    // steps usan <columna>. Las columnas salen de la primera fila
+    private List<Map<String, String>> examples;
 
     public KarateScenario() {
         this.tags = new ArrayList<>();
         this.steps = new ArrayList<>();
+        this.examples = new ArrayList<>();
     }
 
     // Getters y Setters
@@ -32,27 +38,82 @@ public class KarateScenario {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
+    public List<Map<String, String>> getExamples() { return examples; }
+    public void setExamples(List<Map<String, String>> examples) { this.examples = examples; }
+    public void addExample(Map<String, String> row) { this.examples.add(row); }
+    public boolean hasExamples() { return examples != null && !examples.isEmpty(); }
+
     public String toKarateString() {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
 
+    public void appendTo(Appendable out) throws IOException {
         // Tags
         if (!tags.isEmpty()) {
-            sb.append("  ");
+            out.append("  ");
             for (String tag : tags) {
-                sb.append(tag).append(" ");
+                out.append(tag).append(" ");
             }
-            sb.append("\n");
+            out.append("\n");
         }
 
         // Scenario name
-        sb.append("  Scenario: ").append(name).append("\n");
+        out.append(hasExamples() ? "  Scenario Outline: " : "  Scenario: ").append(name).append("\n");
 
         // Steps
         for (String step : steps) {
-            sb.append("    ").append(step).append("\n");
+            out.append("    ").append(step).append("\n");
         }
 
-        return sb.toString();
+        if (hasExamples()) {
+            appendExamples(out);
+        }
+    }
+
+    private void appendExamples(Appendable out) throws IOException {
+        List<String> columns = new ArrayList<>(examples.get(0).keySet());
+        int[] widths = new int[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            widths[c] = columns.get(c).length();
+            for (Map<String, String> row : examples) {
+                widths[c] = Math.max(widths[c], cell(row.get(columns.get(c))).length());
+            }
+        }
+
+        out.append("\n    Examples:\n");
+        appendRow(out, columns, widths);
+        for (Map<String, String> row : examples) {
+            List<String> cells = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                cells.add(cell(row.get(column)));
+            }
+            appendRow(out, cells, widths);
+        }
+    }
+
+    private static void appendRow(Appendable out, List<String> cells, int[] widths) throws IOException {
+        out.append("      |");
+        for (int c = 0; c < cells.size(); c++) {
+            String value = cells.get(c);
+            out.append(' ').append(value);
+            for (int pad = value.length(); pad < widths[c]; pad++) {
+                out.append(' ');
+            }
+            out.append(" |");
+        }
+        out.append("\n");
+    }
+
+    // Escapado de celdas Gherkin: \\, \| y \n
+    private static String cell(String value) {
+        if (value == null) return "";
+        return value.replace("\\", "\\\\").replace("|", "\\|").replace("\n", "\\n");
     }
 
     @Override
@@ -0,0 +1,169 @@
+package org.example.generator.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.contract.model.Schema;
+
+import java.util.*;
+
+// Body de request compilado una vez por Schema: cada propiedad de primer nivel es un slot con su
+// línea ya renderizada, y las variantes (omitir, vaciar, fijar valor) solo sustituyen un slot
+public final class RequestBodyTemplate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String OPEN = "\n    \"\"\"\n    {\n";
+    private static final String CLOSE = "\n    }\n    \"\"\"";
+    private static final String SEPARATOR = ",\n";
+    private static final String INDENT = "      ";
+    private static final String EMPTY_VALUE = "\"\"";
+
+    private final Map<String, Integer> slots;
+    private final String[] prefixes; // `      "campo": `
+    private final String[] lines;    // prefijo + valor por defecto
+    private final String valid;
+    private final String example;    // Body completo a partir del example del schema, si lo tiene
+
+    private RequestBodyTemplate(Schema schema) {
+        Map<String, Schema> properties = schema.getProperties() != null ? schema.getProperties() : Map.of();
+        this.slots = new HashMap<>();
+        this.prefixes = new String[properties.size()];
+        this.lines = new String[properties.size()];
+
+        Set<Schema> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        visiting.add(schema);
+        int i = 0;
+        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+            slots.put(entry.getKey(), i);
+            prefixes[i] = INDENT + "\"" + entry.getKey() + "\": ";
+            lines[i] = prefixes[i] + defaultValue(entry.getValue(), INDENT, visiting);
+            i++;
+        }
+
+        this.valid = render(-1, null);
+        this.example = schema.getExample() != null
+                ? "\n    \"\"\"\n    " + toJson(schema.getExample()) + "\n    \"\"\""
+                : null;
+    }
+
+    public static RequestBodyTemplate compile(Schema schema) {
+        return new RequestBodyTemplate(schema);
+    }
+
+    // Body válido: el example del schema si existe, si no todos los slots con su valor por defecto
+    public String valid() {
+        return example != null ? example : valid;
+    }
+
+    // Todos los slots con su valor por defecto (sin example): base de las variantes
+    public String defaults() {
+        return valid;
+    }
+
+    public String without(String field) {
+        Integer slot = slots.get(field);
+        return slot == null ? valid : render(slot, null);
+    }
+
+    public String withEmpty(String field) {
+        return with(field, EMPTY_VALUE);
+    }
+
+    public String with(String field, String value) {
+        Integer slot = slots.get(field);
+        return slot == null ? valid : render(slot, value);
+    }
+
+    public boolean hasSlot(String field) {
+        return slots.containsKey(field);
+    }
+
+    // Sustituye el slot indicado por value, o lo omite si value es null
+    private String render(int slot, String value) {
+        int capacity = OPEN.length() + CLOSE.length() + (value != null ? value.length() : 0);
+        for (String line : lines) {
+            capacity += line.length() + SEPARATOR.length();
+        }
+
+        StringBuilder sb = new StringBuilder(capacity);
+        sb.append(OPEN);
+        boolean first = true;
+        for (int i = 0; i < lines.length; i++) {
+            if (i == slot && value == null) continue;
+
+            if (!first) sb.append(SEPARATOR);
+            first = false;
+
+            if (i == slot) {
+                sb.append(prefixes[i]).append(value);
+            } else {
+                sb.append(lines[i]);
+            }
+        }
+        sb.append(CLOSE);
+        return sb.toString();
+    }
+
+    private static String defaultValue(Schema schema, String indent, Set<Schema> visiting) {
+        if (schema.getExample() != null) {
+            return toJson(schema.getExample());
+        }
+
+        return switch (String.valueOf(schema.getType())) {
+            case "string" -> {
+                if ("email".equals(schema.getFormat())) {
+                    yield "\"user@example.com\"";
+                } else if ("uuid".equals(schema.getFormat())) {
+                    yield "\"123e4567-e89b-12d3-a456-426614174000\"";
+                } else if ("date-time".equals(schema.getFormat())) {
+                    yield "\"2025-01-20T10:30:00Z\"";
+                } else {
+                    yield "\"test-value\"";
+                }
+            }
+            case "integer", "number" -> "123";
+            case "boolean" -> "true";
+            case "array" -> {
+                Schema items = schema.getItems();
+                // Un schema recursivo ya abierto en esta rama corta el ciclo con un array vacío
+                if (items == null || (items.isRecursive() && visiting.contains(items))) {
+                    yield "[]";
+                }
+                yield "[" + defaultValue(items, indent, visiting) + "]";
+            }
+            case "object" -> {
+                if (schema.getProperties() == null || schema.getProperties().isEmpty()
+                        || (schema.isRecursive() && visiting.contains(schema))) {
+                    yield "{}";
+                }
+                yield nestedObject(schema, indent, visiting);
+            }
+            default -> "\"test\"";
+        };
+    }
+
+    private static String nestedObject(Schema schema, String indent, Set<Schema> visiting) {
+        String inner = indent + "  ";
+        visiting.add(schema);
+
+        StringBuilder sb = new StringBuilder("{\n");
+        boolean first = true;
+        for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
+            if (!first) sb.append(SEPARATOR);
+            first = false;
+            sb.append(inner).append('"').append(entry.getKey()).append("\": ")
+                    .append(defaultValue(entry.getValue(), inner, visiting));
+        }
+        sb.append('\n').append(indent).append('}');
+
+        visiting.remove(schema);
+        return sb.toString();
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return "\"" + value + "\"";
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package org.example.generator.strategy;
 
 import org.example.contract.model.*;
+import org.example.generator.model.CompiledEndpoint;
 import org.example.generator.model.KarateScenario;
 
 import java.util.*;
 
 public class EdgeCaseStrategy implements ScenarioStrategy {
 
+    // Agrupar los edge cases de los campos en un Scenario Outline por endpoint
+    private final boolean outlines;
+
+    public EdgeCaseStrategy() {
+        this(false);
+    }
+
+    public EdgeCaseStrategy(boolean outlines) {
+        this.outlines = outlines;
+    }
+
     @Override
-    public List<KarateScenario> generateScenarios(Endpoint endpoint) {
+    public List<KarateScenario> generateScenarios(CompiledEndpoint endpoint) {
         List<KarateScenario> scenarios = new ArrayList<>();
 
         if (!endpoint.hasRequestBody()) {
@@ -16,6 +28,7 @@ public class EdgeCaseStrategy implements ScenarioStrategy {
         }
 
         Schema schema = endpoint.getRequestBody();
+        List<FieldCase> cases = new ArrayList<>();
 
         if (schema.getProperties() != null) {
             for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
@@ -23,218 +36,120 @@ public class EdgeCaseStrategy implements ScenarioStrategy {
                 Schema fieldSchema = entry.getValue();
 
                 // Generar edge cases según tipo y restricciones
-                scenarios.addAll(generateFieldEdgeCases(endpoint, fieldName, fieldSchema, schema));
+                cases.addAll(generateFieldEdgeCases(fieldName, fieldSchema));
             }
         }
 
+        List<FieldCase> addressable = cases.stream().filter(c -> Outlines.isAddressable(c.field)).toList();
+        if (outlines && addressable.size() >= Outlines.MIN_ROWS) {
+            scenarios.add(createOutline(endpoint, addressable));
+            for (FieldCase fieldCase : cases) {
+                if (!Outlines.isAddressable(fieldCase.field)) {
+                    scenarios.add(createScenario(endpoint, fieldCase));
+                }
+            }
+            return scenarios;
+        }
+
+        for (FieldCase fieldCase : cases) {
+            scenarios.add(createScenario(endpoint, fieldCase));
+        }
         return scenarios;
     }
 
-    private List<KarateScenario> generateFieldEdgeCases(Endpoint endpoint,
-                                                        String fieldName,
-                                                        Schema fieldSchema,
-                                                        Schema fullSchema) {
-        List<KarateScenario> scenarios = new ArrayList<>();
+    private List<FieldCase> generateFieldEdgeCases(String fieldName, Schema fieldSchema) {
+        List<FieldCase> cases = new ArrayList<>();
 
         if ("string".equals(fieldSchema.getType())) {
-            // String muy largo
+            // String de longitud máxima
             if (fieldSchema.getMaxLength() != null) {
-                scenarios.add(createMaxLengthScenario(endpoint, fieldName,
-                        fieldSchema, fullSchema));
+                String longString = "a".repeat(fieldSchema.getMaxLength());
+                cases.add(new FieldCase(fieldName, "en longitud máxima", "\"" + longString + "\"", 200));
             }
 
             // String con caracteres especiales
-            scenarios.add(createSpecialCharsScenario(endpoint, fieldName, fullSchema));
+            cases.add(new FieldCase(fieldName, "con caracteres especiales", "\"!@#$%^&*()\"", 400));
         }
 
         if ("integer".equals(fieldSchema.getType()) || "number".equals(fieldSchema.getType())) {
             // Valor mínimo/máximo
             if (fieldSchema.getMinimum() != null) {
-                scenarios.add(createMinValueScenario(endpoint, fieldName,
-                        fieldSchema, fullSchema));
+                cases.add(new FieldCase(fieldName, "en valor mínimo",
+                        String.valueOf(fieldSchema.getMinimum()), 200));
             }
             if (fieldSchema.getMaximum() != null) {
-                scenarios.add(createMaxValueScenario(endpoint, fieldName,
-                        fieldSchema, fullSchema));
+                cases.add(new FieldCase(fieldName, "en valor máximo",
+                        String.valueOf(fieldSchema.getMaximum()), 200));
             }
 
             // Valor negativo
-            scenarios.add(createNegativeValueScenario(endpoint, fieldName, fullSchema));
-        }
-
-        return scenarios;
-    }
-
-    private KarateScenario createMaxLengthScenario(Endpoint endpoint,
-                                                   String fieldName,
-                                                   Schema fieldSchema,
-                                                   Schema fullSchema) {
-        KarateScenario scenario = new KarateScenario();
-        scenario.setName("Validar " + fieldName + " en longitud máxima");
-        scenario.setOperationId(endpoint.getOperationId());
-        scenario.addTag("@edgeCase");
-        scenario.addTag("@regression");
-
-        // Generar string de longitud máxima
-        int maxLength = fieldSchema.getMaxLength();
-        String longString = "a".repeat(maxLength);
-
-        String body = generateBodyWithFieldValue(fullSchema, fieldName, "\"" + longString + "\"");
-
-        scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
-
-        if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
-        }
-
-        scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
-        scenario.addStep("Then status 200");
-
-        return scenario;
-    }
-
-    private KarateScenario createSpecialCharsScenario(Endpoint endpoint,
-                                                      String fieldName,
-                                                      Schema fullSchema) {
-        KarateScenario scenario = new KarateScenario();
-        scenario.setName("Validar " + fieldName + " con caracteres especiales");
-        scenario.setOperationId(endpoint.getOperationId());
-        scenario.addTag("@edgeCase");
-        scenario.addTag("@regression");
-
-        String specialChars = "!@#$%^&*()";
-        String body = generateBodyWithFieldValue(fullSchema, fieldName,
-                "\"" + specialChars + "\"");
-
-        scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
-
-        if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            cases.add(new FieldCase(fieldName, "con valor negativo", "-1", 400));
         }
 
-        scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
-        scenario.addStep("Then status 400");
-
-        return scenario;
+        return cases;
     }
 
-    private KarateScenario createMinValueScenario(Endpoint endpoint,
-                                                  String fieldName,
-                                                  Schema fieldSchema,
-                                                  Schema fullSchema) {
+    private KarateScenario createScenario(CompiledEndpoint endpoint, FieldCase fieldCase) {
         KarateScenario scenario = new KarateScenario();
-        scenario.setName("Validar " + fieldName + " en valor mínimo");
+        scenario.setName("Validar " + fieldCase.field + " " + fieldCase.label);
         scenario.setOperationId(endpoint.getOperationId());
         scenario.addTag("@edgeCase");
         scenario.addTag("@regression");
 
-        String minValue = String.valueOf(fieldSchema.getMinimum());
-        String body = generateBodyWithFieldValue(fullSchema, fieldName, minValue);
+        String body = endpoint.getBodyTemplate().with(fieldCase.field, fieldCase.value);
 
         scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep(endpoint.getUrlStep());
 
         if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
         scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
-        scenario.addStep("Then status 200");
+        scenario.addStep(endpoint.getMethodStep());
+        scenario.addStep("Then status " + fieldCase.status);
 
         return scenario;
     }
 
-    private KarateScenario createMaxValueScenario(Endpoint endpoint,
-                                                  String fieldName,
-                                                  Schema fieldSchema,
-                                                  Schema fullSchema) {
+    // Mismo bloque url/auth/request/method una sola vez; cada edge case es una fila de Examples
+    private KarateScenario createOutline(CompiledEndpoint endpoint, List<FieldCase> cases) {
         KarateScenario scenario = new KarateScenario();
-        scenario.setName("Validar " + fieldName + " en valor máximo");
+        scenario.setName("Validar <field> <case>");
         scenario.setOperationId(endpoint.getOperationId());
         scenario.addTag("@edgeCase");
         scenario.addTag("@regression");
 
-        String maxValue = String.valueOf(fieldSchema.getMaximum());
-        String body = generateBodyWithFieldValue(fullSchema, fieldName, maxValue);
-
-        scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep("* def requestBody = " + endpoint.getBodyTemplate().defaults());
+        scenario.addStep("* set requestBody.<field> = <value>");
+        scenario.addStep(endpoint.getUrlStep());
 
         if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
         scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
-        scenario.addStep("Then status 200");
-
-        return scenario;
-    }
-
-    private KarateScenario createNegativeValueScenario(Endpoint endpoint,
-                                                       String fieldName,
-                                                       Schema fullSchema) {
-        KarateScenario scenario = new KarateScenario();
-        scenario.setName("Validar " + fieldName + " con valor negativo");
-        scenario.setOperationId(endpoint.getOperationId());
-        scenario.addTag("@edgeCase");
-        scenario.addTag("@regression");
-
-        String body = generateBodyWithFieldValue(fullSchema, fieldName, "-1");
+        scenario.addStep(endpoint.getMethodStep());
+        scenario.addStep("Then status <status>");
 
-        scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
-
-        if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+        for (FieldCase fieldCase : cases) {
+            scenario.addExample(Outlines.row("field", fieldCase.field, "case", fieldCase.label,
+                    "value", fieldCase.value, "status", String.valueOf(fieldCase.status)));
         }
-
-        scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
-        scenario.addStep("Then status 400");
-
         return scenario;
     }
 
-    private String generateBodyWithFieldValue(Schema schema, String fieldName, String value) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n    \"\"\"\n    {\n");
-
-        if (schema.getProperties() != null) {
-            List<String> lines = new ArrayList<>();
-
-            for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
-                String name = entry.getKey();
-                Schema fieldSchema = entry.getValue();
-
-                String fieldValue;
-                if (name.equals(fieldName)) {
-                    fieldValue = value;
-                } else {
-                    fieldValue = generateDefaultValue(fieldSchema);
-                }
-
-                lines.add("      \"" + name + "\": " + fieldValue);
-            }
-
-            sb.append(String.join(",\n", lines));
+    private static class FieldCase {
+        private final String field;
+        private final String label;
+        private final String value;
+        private final int status;
+
+        private FieldCase(String field, String label, String value, int status) {
+            this.field = field;
+            this.label = label;
+            this.value = value;
+            this.status = status;
         }
-
-        sb.append("\n    }\n    \"\"\"");
-        return sb.toString();
-    }
-
-    private String generateDefaultValue(Schema schema) {
-        return switch (schema.getType()) {
-            case "string" -> "\"test\"";
-            case "integer", "number" -> "123";
-            case "boolean" -> "true";
-            default -> "null";
-        };
     }
 }
\ No newline at end of file
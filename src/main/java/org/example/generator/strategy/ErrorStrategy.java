@@ -1,6 +1,7 @@
 package org.example.generator.strategy;
 
 import org.example.contract.model.*;
+import org.example.generator.model.CompiledEndpoint;
 import org.example.generator.model.KarateScenario;
 
 import java.util.*;
@@ -8,23 +9,18 @@ import java.util.*;
 public class ErrorStrategy implements ScenarioStrategy {
 
     @Override
-    public List<KarateScenario> generateScenarios(Endpoint endpoint) {
-        List<KarateScenario> scenarios = new ArrayList<>();
+    public List<KarateScenario> generateScenarios(CompiledEndpoint endpoint) {
+        List<KarateScenario> scenarios = new ArrayList<>(endpoint.getErrorResponses().size());
 
-        // Generar escenarios para cada código de error definido
-        for (Map.Entry<Integer, Response> entry : endpoint.getResponses().entrySet()) {
-            int statusCode = entry.getKey();
-
-            // Solo códigos de error (4xx, 5xx)
-            if (statusCode >= 400) {
-                scenarios.add(createErrorScenario(endpoint, statusCode, entry.getValue()));
-            }
+        // Generar escenarios para cada código de error definido (4xx, 5xx)
+        for (Response response : endpoint.getErrorResponses()) {
+            scenarios.add(createErrorScenario(endpoint, response.getStatusCode(), response));
         }
 
         return scenarios;
     }
 
-    private KarateScenario createErrorScenario(Endpoint endpoint,
+    private KarateScenario createErrorScenario(CompiledEndpoint endpoint,
                                                int statusCode,
                                                Response response) {
         KarateScenario scenario = new KarateScenario();
@@ -35,13 +31,13 @@ public class ErrorStrategy implements ScenarioStrategy {
         scenario.addTag("@error");
         scenario.addTag("@regression");
 
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep(endpoint.getUrlStep());
 
         // Configurar condiciones para provocar el error
         if (statusCode == 401) {
             scenario.addStep("And header Authorization = 'Bearer invalid-token'");
         } else if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
         if (statusCode == 404) {
@@ -55,7 +51,7 @@ public class ErrorStrategy implements ScenarioStrategy {
             scenario.addStep("And request requestBody");
         }
 
-        scenario.addStep("When method " + endpoint.getMethod());
+        scenario.addStep(endpoint.getMethodStep());
         scenario.addStep("Then status " + statusCode);
 
         if (response.getDescription() != null) {
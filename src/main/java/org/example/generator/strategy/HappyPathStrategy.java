@@ -1,6 +1,7 @@
 package org.example.generator.strategy;
 
 import org.example.contract.model.*;
+import org.example.generator.model.CompiledEndpoint;
 import org.example.generator.model.KarateScenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +13,7 @@ public class HappyPathStrategy implements ScenarioStrategy {
     private static final Logger LOGGER = LoggerFactory.getLogger(HappyPathStrategy.class);
 
     @Override
-    public List<KarateScenario> generateScenarios(Endpoint endpoint) {
+    public List<KarateScenario> generateScenarios(CompiledEndpoint endpoint) {
         LOGGER.debug("Generando Happy Path para: {} {}", endpoint.getMethod(), endpoint.getPath());
 
         KarateScenario scenario = new KarateScenario();
@@ -23,11 +24,11 @@ public class HappyPathStrategy implements ScenarioStrategy {
         scenario.addTag("@regression");
 
         // URL base
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep(endpoint.getUrlStep());
 
         // Headers de autenticación
         if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
         // Path parameters
@@ -44,16 +45,16 @@ public class HappyPathStrategy implements ScenarioStrategy {
 
         // Request body
         if (endpoint.hasRequestBody()) {
-            String body = generateValidBody(endpoint.getRequestBody());
+            String body = endpoint.getBodyTemplate().valid();
             scenario.addStep("* def requestBody = " + body);
             scenario.addStep("And request requestBody");
         }
 
         // Método HTTP
-        scenario.addStep("When method " + endpoint.getMethod());
+        scenario.addStep(endpoint.getMethodStep());
 
         // Assertions de respuesta exitosa
-        Response successResponse = findSuccessResponse(endpoint);
+        Response successResponse = endpoint.getSuccessResponse();
         if (successResponse != null) {
             scenario.addStep("Then status " + successResponse.getStatusCode());
 
@@ -67,15 +68,6 @@ public class HappyPathStrategy implements ScenarioStrategy {
         return List.of(scenario);
     }
 
-    private Response findSuccessResponse(Endpoint endpoint) {
-        // Buscar respuesta 200, 201, etc.
-        for (int code : new int[]{200, 201, 204}) {
-            Response response = endpoint.getResponse(code);
-            if (response != null) return response;
-        }
-        return null;
-    }
-
     private String generateValidValue(Parameter param) {
         if (param.getExample() != null) {
             return formatValue(param.getExample(), param.getType());
@@ -97,56 +89,6 @@ public class HappyPathStrategy implements ScenarioStrategy {
         };
     }
 
-    private String generateValidBody(Schema schema) {
-        if (schema.getExample() != null) {
-            return formatJsonObject(schema.getExample());
-        }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n    \"\"\"\n    {\n");
-
-        if ("object".equals(schema.getType()) && schema.getProperties() != null) {
-            List<String> lines = new ArrayList<>();
-
-            for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
-                String fieldName = entry.getKey();
-                Schema fieldSchema = entry.getValue();
-                String value = generateValidFieldValue(fieldSchema);
-                lines.add("      \"" + fieldName + "\": " + value);
-            }
-
-            sb.append(String.join(",\n", lines));
-        }
-
-        sb.append("\n    }\n    \"\"\"");
-        return sb.toString();
-    }
-
-    private String generateValidFieldValue(Schema schema) {
-        if (schema.getExample() != null) {
-            return formatValue(schema.getExample(), schema.getType());
-        }
-
-        return switch (schema.getType()) {
-            case "string" -> {
-                if ("email".equals(schema.getFormat())) {
-                    yield "\"user@example.com\"";
-                } else if ("uuid".equals(schema.getFormat())) {
-                    yield "\"123e4567-e89b-12d3-a456-426614174000\"";
-                } else if ("date-time".equals(schema.getFormat())) {
-                    yield "\"2025-01-20T10:30:00Z\"";
-                } else {
-                    yield "\"test-value\"";
-                }
-            }
-            case "integer", "number" -> "123";
-            case "boolean" -> "true";
-            case "array" -> "[]";
-            case "object" -> "{}";
-            default -> "\"test\"";
-        };
-    }
-
     private void generateAssertions(Schema schema, KarateScenario scenario, String path) {
         if (schema == null || schema.getProperties() == null) return;
 
@@ -190,9 +132,4 @@ public class HappyPathStrategy implements ScenarioStrategy {
         }
         return String.valueOf(value);
     }
-
-    private String formatJsonObject(Object obj) {
-        // Simplificado - en producción usar Jackson
-        return "\n    \"\"\"\n    " + obj.toString() + "\n    \"\"\"";
-    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package org.example.generator.strategy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Agrupación de variantes por campo en un Scenario Outline: el body base se modifica con
+// set/remove de Karate sobre requestBody.<field>, así que solo entran los campos cuyo nombre es
+// un identificador JS; el resto se sigue generando como escenarios sueltos
+final class Outlines {
+
+    // Con menos filas no compensa el Outline
+    static final int MIN_ROWS = 2;
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+    private Outlines() {}
+
+    static boolean isAddressable(String field) {
+        return field != null && IDENTIFIER.matcher(field).matches();
+    }
+
+    // row("field", "name", "status", "400") -> fila de Examples con las columnas en ese orden
+    static Map<String, String> row(String... columnsAndValues) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < columnsAndValues.length; i += 2) {
+            row.put(columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
\ No newline at end of file
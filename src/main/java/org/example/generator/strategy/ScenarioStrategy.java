@@ -1,10 +1,15 @@
 package org.example.generator.strategy;
 
 import org.example.contract.model.Endpoint;
+import org.example.generator.model.CompiledEndpoint;
 import org.example.generator.model.KarateScenario;
 
 import java.util.List;
 
 public interface ScenarioStrategy {
-    List<KarateScenario> generateScenarios(Endpoint endpoint);
+    List<KarateScenario> generateScenarios(CompiledEndpoint endpoint);
+
+    default List<KarateScenario> generateScenarios(Endpoint endpoint) {
+        return generateScenarios(CompiledEndpoint.of(endpoint));
+    }
 }
\ No newline at end of file
@@ -1,18 +1,31 @@
 package org.example.generator.strategy;
 
 import org.example.contract.model.*;
+import org.example.generator.model.CompiledEndpoint;
 import org.example.generator.model.KarateScenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.BiFunction;
 
 public class ValidationStrategy implements ScenarioStrategy {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ValidationStrategy.class);
 
+    // Agrupar los escenarios por campo en un Scenario Outline por endpoint
+    private final boolean outlines;
+
+    public ValidationStrategy() {
+        this(false);
+    }
+
+    public ValidationStrategy(boolean outlines) {
+        this.outlines = outlines;
+    }
+
     @Override
-    public List<KarateScenario> generateScenarios(Endpoint endpoint) {
+    public List<KarateScenario> generateScenarios(CompiledEndpoint endpoint) {
         List<KarateScenario> scenarios = new ArrayList<>();
 
         // Validar campos requeridos en request body
@@ -20,21 +33,20 @@ public class ValidationStrategy implements ScenarioStrategy {
             Schema schema = endpoint.getRequestBody();
 
             if (schema.getRequired() != null) {
-                for (String requiredField : schema.getRequired()) {
-                    scenarios.add(createMissingFieldScenario(endpoint, requiredField, schema));
-                }
+                scenarios.addAll(fieldScenarios(endpoint, schema.getRequired(),
+                        this::createMissingFieldScenario, this::createMissingFieldOutline));
             }
 
             // Validar campos vacíos
             if (schema.getProperties() != null) {
+                List<String> stringFields = new ArrayList<>();
                 for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
-                    String fieldName = entry.getKey();
-                    Schema fieldSchema = entry.getValue();
-
-                    if ("string".equals(fieldSchema.getType())) {
-                        scenarios.add(createEmptyFieldScenario(endpoint, fieldName, schema));
+                    if ("string".equals(entry.getValue().getType())) {
+                        stringFields.add(entry.getKey());
                     }
                 }
+                scenarios.addAll(fieldScenarios(endpoint, stringFields,
+                        this::createEmptyFieldScenario, this::createEmptyFieldOutline));
             }
         }
 
@@ -48,9 +60,31 @@ public class ValidationStrategy implements ScenarioStrategy {
         return scenarios;
     }
 
-    private KarateScenario createMissingFieldScenario(Endpoint endpoint,
-                                                      String fieldName,
-                                                      Schema schema) {
+    // Un escenario por campo, o un Outline con los campos direccionables y sueltos el resto
+    private List<KarateScenario> fieldScenarios(CompiledEndpoint endpoint, List<String> fields,
+                                                BiFunction<CompiledEndpoint, String, KarateScenario> single,
+                                                BiFunction<CompiledEndpoint, List<String>, KarateScenario> outline) {
+        List<KarateScenario> scenarios = new ArrayList<>();
+
+        List<String> addressable = fields.stream().filter(Outlines::isAddressable).distinct().toList();
+        if (outlines && addressable.size() >= Outlines.MIN_ROWS) {
+            scenarios.add(outline.apply(endpoint, addressable));
+            for (String field : fields) {
+                if (!Outlines.isAddressable(field)) {
+                    scenarios.add(single.apply(endpoint, field));
+                }
+            }
+            return scenarios;
+        }
+
+        for (String field : fields) {
+            scenarios.add(single.apply(endpoint, field));
+        }
+        return scenarios;
+    }
+
+    private KarateScenario createMissingFieldScenario(CompiledEndpoint endpoint,
+                                                      String fieldName) {
         KarateScenario scenario = new KarateScenario();
         scenario.setName("Validar error cuando falta el campo " + fieldName);
         scenario.setOperationId(endpoint.getOperationId());
@@ -58,26 +92,25 @@ public class ValidationStrategy implements ScenarioStrategy {
         scenario.addTag("@regression");
 
         // Construir body sin el campo requerido
-        String body = generateBodyWithoutField(schema, fieldName);
+        String body = endpoint.getBodyTemplate().without(fieldName);
 
         scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep(endpoint.getUrlStep());
 
         if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
         scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
+        scenario.addStep(endpoint.getMethodStep());
         scenario.addStep("Then status 400");
         scenario.addStep("And match response.message contains '" + fieldName + "'");
 
         return scenario;
     }
 
-    private KarateScenario createEmptyFieldScenario(Endpoint endpoint,
-                                                    String fieldName,
-                                                    Schema schema) {
+    private KarateScenario createEmptyFieldScenario(CompiledEndpoint endpoint,
+                                                    String fieldName) {
         KarateScenario scenario = new KarateScenario();
         scenario.setName("Validar error cuando " + fieldName + " está vacío");
         scenario.setOperationId(endpoint.getOperationId());
@@ -85,107 +118,106 @@ public class ValidationStrategy implements ScenarioStrategy {
         scenario.addTag("@regression");
 
         // Construir body con el campo vacío
-        String body = generateBodyWithEmptyField(schema, fieldName);
+        String body = endpoint.getBodyTemplate().withEmpty(fieldName);
 
         scenario.addStep("* def requestBody = " + body);
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep(endpoint.getUrlStep());
 
         if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
         scenario.addStep("And request requestBody");
-        scenario.addStep("When method " + endpoint.getMethod());
+        scenario.addStep(endpoint.getMethodStep());
         scenario.addStep("Then status 400");
         scenario.addStep("And match response.message contains '" + fieldName + "'");
 
         return scenario;
     }
 
-    private KarateScenario createMissingParameterScenario(Endpoint endpoint,
-                                                          Parameter param) {
+    private KarateScenario createMissingFieldOutline(CompiledEndpoint endpoint, List<String> fields) {
         KarateScenario scenario = new KarateScenario();
-        scenario.setName("Validar error cuando falta el parámetro " + param.getName());
+        scenario.setName("Validar error cuando falta el campo <field>");
         scenario.setOperationId(endpoint.getOperationId());
         scenario.addTag("@validation");
         scenario.addTag("@regression");
 
-        scenario.addStep("Given url baseUrl + '" + endpoint.getPath() + "'");
+        scenario.addStep("* def requestBody = " + endpoint.getBodyTemplate().defaults());
+        scenario.addStep("* remove requestBody.<field>");
+        scenario.addStep(endpoint.getUrlStep());
 
         if (endpoint.needsAuth()) {
-            scenario.addStep("And header Authorization = 'Bearer ' + token");
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
         }
 
-        // Agregar otros parámetros excepto el que se está probando
-        for (Parameter p : endpoint.getParameters()) {
-            if (!p.getName().equals(param.getName())) {
-                String value = generateValidValue(p);
-                if ("path".equals(p.getIn())) {
-                    scenario.addStep("And path '" + p.getName() + "' = " + value);
-                } else if ("query".equals(p.getIn())) {
-                    scenario.addStep("And param '" + p.getName() + "' = " + value);
-                }
-            }
-        }
-
-        scenario.addStep("When method " + endpoint.getMethod());
+        scenario.addStep("And request requestBody");
+        scenario.addStep(endpoint.getMethodStep());
         scenario.addStep("Then status 400");
-        scenario.addStep("And match response.message contains '" + param.getName() + "'");
+        scenario.addStep("And match response.message contains '<field>'");
 
+        for (String field : fields) {
+            scenario.addExample(Outlines.row("field", field));
+        }
         return scenario;
     }
 
-    private String generateBodyWithoutField(Schema schema, String excludeField) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n    \"\"\"\n    {\n");
-
-        if (schema.getProperties() != null) {
-            List<String> lines = new ArrayList<>();
+    private KarateScenario createEmptyFieldOutline(CompiledEndpoint endpoint, List<String> fields) {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName("Validar error cuando <field> está vacío");
+        scenario.setOperationId(endpoint.getOperationId());
+        scenario.addTag("@validation");
+        scenario.addTag("@regression");
 
-            for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
-                String fieldName = entry.getKey();
+        scenario.addStep("* def requestBody = " + endpoint.getBodyTemplate().defaults());
+        scenario.addStep("* set requestBody.<field> = \"\"");
+        scenario.addStep(endpoint.getUrlStep());
 
-                // Excluir el campo especificado
-                if (fieldName.equals(excludeField)) continue;
+        if (endpoint.needsAuth()) {
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
+        }
 
-                Schema fieldSchema = entry.getValue();
-                String value = generateValidFieldValue(fieldSchema);
-                lines.add("      \"" + fieldName + "\": " + value);
-            }
+        scenario.addStep("And request requestBody");
+        scenario.addStep(endpoint.getMethodStep());
+        scenario.addStep("Then status 400");
+        scenario.addStep("And match response.message contains '<field>'");
 
-            sb.append(String.join(",\n", lines));
+        for (String field : fields) {
+            scenario.addExample(Outlines.row("field", field));
         }
-
-        sb.append("\n    }\n    \"\"\"");
-        return sb.toString();
+        return scenario;
     }
 
-    private String generateBodyWithEmptyField(Schema schema, String emptyField) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n    \"\"\"\n    {\n");
+    private KarateScenario createMissingParameterScenario(CompiledEndpoint endpoint,
+                                                          Parameter param) {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName("Validar error cuando falta el parámetro " + param.getName());
+        scenario.setOperationId(endpoint.getOperationId());
+        scenario.addTag("@validation");
+        scenario.addTag("@regression");
 
-        if (schema.getProperties() != null) {
-            List<String> lines = new ArrayList<>();
+        scenario.addStep(endpoint.getUrlStep());
 
-            for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
-                String fieldName = entry.getKey();
-                Schema fieldSchema = entry.getValue();
+        if (endpoint.needsAuth()) {
+            scenario.addStep(CompiledEndpoint.AUTH_STEP);
+        }
 
-                String value;
-                if (fieldName.equals(emptyField)) {
-                    value = "\"\""; // Campo vacío
-                } else {
-                    value = generateValidFieldValue(fieldSchema);
+        // Agregar otros parámetros excepto el que se está probando
+        for (Parameter p : endpoint.getParameters()) {
+            if (!p.getName().equals(param.getName())) {
+                String value = generateValidValue(p);
+                if ("path".equals(p.getIn())) {
+                    scenario.addStep("And path '" + p.getName() + "' = " + value);
+                } else if ("query".equals(p.getIn())) {
+                    scenario.addStep("And param '" + p.getName() + "' = " + value);
                 }
-
-                lines.add("      \"" + fieldName + "\": " + value);
             }
-
-            sb.append(String.join(",\n", lines));
         }
 
-        sb.append("\n    }\n    \"\"\"");
-        return sb.toString();
+        scenario.addStep(endpoint.getMethodStep());
+        scenario.addStep("Then status 400");
+        scenario.addStep("And match response.message contains '" + param.getName() + "'");
+
+        return scenario;
     }
 
     private String generateValidValue(Parameter param) {
@@ -196,15 +228,4 @@ public class ValidationStrategy implements ScenarioStrategy {
             default -> "'test'";
         };
     }
-
-    private String generateValidFieldValue(Schema schema) {
-        return switch (schema.getType()) {
-            case "string" -> "\"test-value\"";
-            case "integer", "number" -> "123";
-            case "boolean" -> "true";
-            case "array" -> "[]";
-            case "object" -> "{}";
-            default -> "\"test\"";
-        };
-    }
 }
\ No newline at end of file
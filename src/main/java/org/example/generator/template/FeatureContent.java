@@ -0,0 +1,10 @@
+package org.example.generator.template;
+
+import java.io.IOException;
+
+// Contenido de un .feature que se renderiza bajo demanda sobre el destino (Writer, StringBuilder...)
+@FunctionalInterface
+public interface FeatureContent {
+
+    void writeTo(Appendable out) throws IOException;
+}
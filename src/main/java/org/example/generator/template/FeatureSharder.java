@@ -0,0 +1,186 @@
+package org.example.generator.template;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.model.Endpoint;
+import org.example.generator.model.KarateScenario;
+import org.example.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Reparte los escenarios en varios .feature para que Karate (Runner.parallel) los ejecute en paralelo:
+// - tag: un fichero por el primer tag OpenAPI del endpoint
+// - path: un fichero por el primer segmento de la ruta (/users/{id} -> users)
+// - count: N ficheros equilibrados por número de escenarios
+// Los escenarios de un mismo endpoint siempre van juntos y conservan el orden del contrato.
+// Los ficheros se escriben en un directorio con el nombre de OutputPath (generated-api/*.feature)
+public class FeatureSharder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureSharder.class);
+    private static final String UNGROUPED = "default";
+
+    public enum Mode { NONE, TAG, PATH, COUNT }
+
+    private final Mode mode;
+    private final int shards;
+
+    public FeatureSharder(Mode mode, int shards) {
+        this.mode = mode;
+        this.shards = Math.max(1, shards);
+    }
+
+    public static FeatureSharder fromConfig() {
+        String mode = ConfigReader.getPropertyByKey("FeatureSharding", "none").trim();
+        int shards = Integer.parseInt(ConfigReader.getPropertyByKey("FeatureShards", "4").trim());
+        try {
+            return new FeatureSharder(Mode.valueOf(mode.isEmpty() ? "NONE" : mode.toUpperCase()), shards);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("FeatureSharding desconocido: " + mode + " (none, tag, path, count)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.NONE;
+    }
+
+    // Ruta de cada fichero -> contenido (se renderiza al escribirlo); sin sharding, un único fichero en outputPath
+    public Map<String, FeatureContent> render(KarateTemplateEngine engine, ApiContract contract,
+                                              List<KarateScenario> scenarios, String outputPath) {
+        Map<String, FeatureContent> features = new LinkedHashMap<>();
+        if (!isEnabled()) {
+            features.put(outputPath, out -> engine.writeFeature(contract, scenarios, out));
+            return features;
+        }
+
+        Path directory = shardDirectory(outputPath);
+        shard(contract, scenarios).forEach((name, shardScenarios) -> features.put(
+                directory.resolve(name + ".feature").toString(),
+                out -> engine.writeFeature(contract, shardScenarios, name, out)));
+
+        LOGGER.info("🧩 Feature dividido en {} ficheros ({}): {}", features.size(),
+                mode.name().toLowerCase(), directory);
+        return features;
+    }
+
+    public Map<String, List<KarateScenario>> shard(ApiContract contract, List<KarateScenario> scenarios) {
+        // Escenarios agrupados por endpoint, en orden de aparición
+        Map<String, List<KarateScenario>> byEndpoint = new LinkedHashMap<>();
+        for (KarateScenario scenario : scenarios) {
+            byEndpoint.computeIfAbsent(String.valueOf(scenario.getOperationId()), id -> new ArrayList<>())
+                    .add(scenario);
+        }
+
+        if (mode == Mode.COUNT) {
+            return balance(byEndpoint);
+        }
+
+        Map<String, List<KarateScenario>> result = new LinkedHashMap<>();
+        byEndpoint.forEach((operationId, endpointScenarios) -> {
+            String name = shardName(contract.getEndpointByOperationId(operationId));
+            result.computeIfAbsent(name, n -> new ArrayList<>()).addAll(endpointScenarios);
+        });
+        return result;
+    }
+
+    // Elimina los shards de una ejecución anterior que ya no se generan (tag o ruta desaparecidos).
+    // Solo se tocan ficheros con la marca de shard: los .feature escritos a mano se conservan
+    public void removeStaleShards(String outputPath, Collection<String> written) throws IOException {
+        if (!isEnabled()) return;
+
+        Path directory = shardDirectory(outputPath);
+        if (!Files.isDirectory(directory)) return;
+
+        Set<Path> current = new HashSet<>();
+        written.forEach(path -> current.add(Paths.get(path).toAbsolutePath().normalize()));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".feature")).toList()) {
+                if (current.contains(file.toAbsolutePath().normalize())) continue;
+
+                if (isGeneratedShard(file)) {
+                    Files.delete(file);
+                    LOGGER.info("🗑️  Shard obsoleto eliminado: {}", file);
+                } else {
+                    LOGGER.debug("  Se conserva {}: no es un shard generado", file);
+                }
+            }
+        }
+    }
+
+    private static boolean isGeneratedShard(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return KarateTemplateEngine.SHARD_MARKER.equals(reader.readLine());
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    public static Path shardDirectory(String outputPath) {
+        Path output = Paths.get(outputPath);
+        String name = output.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return output.resolveSibling(dot > 0 ? name.substring(0, dot) : name);
+    }
+
+    private String shardName(Endpoint endpoint) {
+        if (endpoint == null) {
+            return UNGROUPED;
+        }
+
+        String raw = switch (mode) {
+            case TAG -> endpoint.getTags().isEmpty() ? null : endpoint.getTags().get(0);
+            case PATH -> Arrays.stream(endpoint.getPath().split("/"))
+                    .filter(segment -> !segment.isEmpty() && !segment.startsWith("{"))
+                    .findFirst()
+                    .orElse(null);
+            default -> null;
+        };
+
+        String name = raw == null ? "" : raw.toLowerCase()
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-|-$", "");
+        return name.isEmpty() ? UNGROUPED : name;
+    }
+
+    // Reparto greedy (el endpoint más grande al shard más ligero); dentro de cada shard
+    // se recupera el orden del contrato
+    private Map<String, List<KarateScenario>> balance(Map<String, List<KarateScenario>> byEndpoint) {
+        List<String> order = new ArrayList<>(byEndpoint.keySet());
+        List<String> bySize = new ArrayList<>(order);
+        // sort es estable: a igual tamaño se mantiene el orden del contrato
+        bySize.sort(Comparator.comparingInt((String id) -> byEndpoint.get(id).size()).reversed());
+
+        int count = Math.min(shards, Math.max(1, order.size()));
+        int[] loads = new int[count];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String operationId : bySize) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            loads[lightest] += byEndpoint.get(operationId).size();
+            assignment.put(operationId, lightest);
+        }
+
+        Map<String, List<KarateScenario>> result = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            result.put("shard-" + (i + 1), new ArrayList<>());
+        }
+        for (String operationId : order) {
+            result.get("shard-" + (assignment.get(operationId) + 1)).addAll(byEndpoint.get(operationId));
+        }
+        result.values().removeIf(List::isEmpty);
+        return result;
+    }
+}
@@ -5,39 +5,85 @@ import org.example.generator.model.KarateScenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 public class KarateTemplateEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KarateTemplateEngine.class);
+    // Primera línea de cada shard: FeatureSharder solo elimina ficheros que la llevan
+    static final String SHARD_MARKER = "# Generado por FeatureSharder: no editar, se regenera en cada ejecución";
 
     public String generateFeature(ApiContract contract, List<KarateScenario> scenarios) {
-        LOGGER.info("📝 Generando archivo .feature");
+        return generateFeature(contract, scenarios, null);
+    }
 
+    // shardName != null: fichero parcial con su propio header y Background
+    public String generateFeature(ApiContract contract, List<KarateScenario> scenarios, String shardName) {
         StringBuilder feature = new StringBuilder();
+        try {
+            writeFeature(contract, scenarios, shardName, feature);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return feature.toString();
+    }
+
+    public void writeFeature(ApiContract contract, List<KarateScenario> scenarios, Appendable out) throws IOException {
+        writeFeature(contract, scenarios, null, out);
+    }
+
+    // Escribe header, Background y escenarios directamente en out: el feature completo nunca
+    // se materializa en memoria cuando out es un Writer con buffer
+    public void writeFeature(ApiContract contract, List<KarateScenario> scenarios, String shardName,
+                             Appendable out) throws IOException {
+        LOGGER.info("📝 Generando archivo .feature{}", shardName != null ? " (" + shardName + ")" : "");
+
+        if (shardName != null) {
+            out.append(SHARD_MARKER).append("\n");
+        }
 
         // Feature header con tags
         String featureTag = "@" + sanitizeTag(contract.getTitle());
-        feature.append(featureTag).append("\n");
-        feature.append("Feature: ").append(contract.getTitle()).append("\n");
+        out.append(featureTag);
+        if (shardName != null) {
+            out.append(" @").append(sanitizeTag(shardName));
+        }
+        out.append("\n");
+        out.append("Feature: ").append(contract.getTitle());
+        if (shardName != null) {
+            out.append(" - ").append(shardName);
+        }
+        out.append("\n");
 
         if (contract.getDescription() != null) {
-            feature.append("  ").append(contract.getDescription()).append("\n");
+            out.append("  ").append(contract.getDescription()).append("\n");
         }
-        feature.append("\n");
+        out.append("\n");
 
         // Background
-        feature.append(generateBackground(contract));
-        feature.append("\n");
+        out.append(generateBackground(contract));
+        out.append("\n");
 
-        // Scenarios
+        // Scenarios (los Scenario Outline escriben su propia tabla Examples)
+        int outlines = 0;
+        int rows = 0;
         for (KarateScenario scenario : scenarios) {
-            feature.append(scenario.toKarateString());
-            feature.append("\n");
+            scenario.appendTo(out);
+            out.append("\n");
+            if (scenario.hasExamples()) {
+                outlines++;
+                rows += scenario.getExamples().size();
+            }
         }
 
-        LOGGER.info("Feature generado: {} escenarios", scenarios.size());
-        return feature.toString();
+        if (outlines > 0) {
+            LOGGER.info("Feature generado: {} escenarios ({} Scenario Outline con {} filas de Examples)",
+                    scenarios.size(), outlines, rows);
+        } else {
+            LOGGER.info("Feature generado: {} escenarios", scenarios.size());
+        }
     }
 
     private String generateBackground(ApiContract contract) {
@@ -0,0 +1,89 @@
+package org.example.ia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Circuit breaker para el proveedor de IA:
+// - CLOSED: las peticiones pasan; tras failureThreshold fallos seguidos se abre
+// - OPEN: las peticiones se rechazan al instante durante openMillis
+// - HALF_OPEN: se deja pasar una única petición de prueba; si funciona se cierra,
+//   si falla se vuelve a abrir
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            LOGGER.info("🔌 Circuito {} semiabierto: enviando petición de prueba", name);
+        }
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            LOGGER.info("🔌 Circuito {} cerrado: el servicio responde de nuevo", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                LOGGER.warn("🔌 Circuito {} abierto tras {} fallos: se omiten peticiones durante {} ms",
+                        name, consecutiveFailures, openMillis);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    // La llamada terminó sin decir nada del servicio (p. ej. cortada por el plazo): se libera la
+    // petición de prueba sin cambiar de estado, para que la siguiente pueda volver a probar
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public int getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.ia;
+
+import org.example.generator.model.KarateScenario;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Orden y plazo del enriquecimiento: los lotes se despachan por prioridad de tags (el primer
+// tag de la lista que tenga cualquiera de sus escenarios) y, si hay plazo, al agotarse se deja
+// de despachar y el resto sale sin enriquecer. Con un enricher compartido (modo lote) el plazo
+// es global a todos los contratos. El orden de salida no cambia: cada resultado vuelve a su índice
+public class EnrichmentScheduler {
+
+    private final List<String> priorityTags;
+    private final long deadline;   // System.nanoTime() límite; 0 = sin plazo
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    // deadlineMillis <= 0 desactiva el plazo, que empieza a contar al crear el scheduler
+    public EnrichmentScheduler(List<String> priorityTags, long deadlineMillis) {
+        this.priorityTags = List.copyOf(priorityTags);
+        this.deadline = deadlineMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis) : 0;
+    }
+
+    // Índices de batches en orden de despacho; a igual prioridad se respeta el orden original
+    public List<Integer> order(List<List<Integer>> batches, List<KarateScenario> scenarios) {
+        int[] ranks = new int[batches.size()];
+        List<Integer> order = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            int rank = priorityTags.size();
+            for (int index : batches.get(i)) {
+                rank = Math.min(rank, rank(scenarios.get(index)));
+            }
+            ranks[i] = rank;
+            order.add(i);
+        }
+
+        order.sort(Comparator.comparingInt(i -> ranks[i]));
+        return order;
+    }
+
+    public int rank(KarateScenario scenario) {
+        int rank = priorityTags.size();
+        for (String tag : scenario.getTags()) {
+            int index = priorityTags.indexOf(tag);
+            if (index >= 0 && index < rank) {
+                rank = index;
+            }
+        }
+        return rank;
+    }
+
+    public boolean hasDeadline() {
+        return deadline != 0;
+    }
+
+    public boolean isExpired() {
+        return deadline != 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    // System.nanoTime() límite (0 = sin plazo), para cortar también las peticiones en vuelo
+    public long getDeadline() {
+        return deadline;
+    }
+
+    // Nanosegundos hasta el plazo (Long.MAX_VALUE sin plazo, 0 si ya pasó)
+    public long remainingNanos() {
+        if (deadline == 0) return Long.MAX_VALUE;
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    public void recordSkipped(int scenarios) {
+        skipped.addAndGet(scenarios);
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+}
@@ -3,23 +3,149 @@ package org.example.ia;
 import org.example.contract.model.*;
 import org.example.generator.model.KarateScenario;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public class PromptBuilder {
 
+    private static final String BATCH_MARKER = "### ESCENARIO %d ###";
+    private static final Pattern BATCH_MARKER_PATTERN =
+            Pattern.compile("^\\s*#{2,}\\s*ESCENARIO\\s+(\\d+)\\s*#*\\s*$", Pattern.MULTILINE);
+
     public String buildEnrichmentPrompt(KarateScenario scenario, Endpoint endpoint) {
         StringBuilder sb = new StringBuilder();
 
+        appendEndpoint(sb, endpoint);
+
+        sb.append("ESCENARIO BASE:\n");
+        sb.append(scenario.toKarateString()).append("\n\n");
+
+        sb.append("TAREA:\n");
+        sb.append("Mejora este escenario de Karate siguiendo estas reglas:\n\n");
+
+        appendRules(sb);
+
+        sb.append("FORMATO DE SALIDA:\n");
+        sb.append("Devuelve el escenario completo desde 'Scenario:' hasta el último step.\n");
+
+        return sb.toString();
+    }
+
+    // Instrucciones fijas seguidas del endpoint: es el prefijo común a todos los escenarios
+    // del endpoint, por lo que Ollama solo tiene que evaluarlo una vez
+    public String buildSystemPrompt(Endpoint endpoint) {
+        StringBuilder sb = new StringBuilder();
+
         sb.append("Eres un experto en testing de APIs y en el framework Karate.\n\n");
+
+        sb.append("TAREA:\n");
+        sb.append("Mejora el escenario de Karate que recibirás siguiendo estas reglas:\n\n");
+
+        appendRules(sb);
+
+        sb.append("FORMATO DE SALIDA:\n");
+        sb.append("Devuelve el escenario completo desde 'Scenario:' hasta el último step.\n\n");
+
         sb.append("ENDPOINT:\n");
         sb.append("- Path: ").append(endpoint.getPath()).append("\n");
         sb.append("- Método: ").append(endpoint.getMethod()).append("\n");
-        sb.append("- Descripción: ").append(endpoint.getSummary()).append("\n\n");
+        sb.append("- Descripción: ").append(endpoint.getSummary()).append("\n");
 
-        sb.append("ESCENARIO BASE:\n");
-        sb.append(scenario.toKarateString()).append("\n\n");
+        return sb.toString();
+    }
+
+    public String buildScenarioPrompt(KarateScenario scenario) {
+        return "ESCENARIO BASE:\n" + scenario.toKarateString();
+    }
+
+    // Varios escenarios del mismo endpoint en una sola petición, separados por marcadores
+    // numerados para poder dividir la respuesta con splitBatchResponse
+    public String buildBatchEnrichmentPrompt(List<KarateScenario> scenarios, Endpoint endpoint) {
+        StringBuilder sb = new StringBuilder();
+
+        appendEndpoint(sb, endpoint);
+        appendBatchScenarios(sb, scenarios);
 
         sb.append("TAREA:\n");
-        sb.append("Mejora este escenario de Karate siguiendo estas reglas:\n\n");
+        sb.append("Mejora cada uno de estos ").append(scenarios.size())
+                .append(" escenarios de Karate por separado siguiendo estas reglas:\n\n");
+
+        appendRules(sb);
+        appendBatchOutputFormat(sb);
 
+        return sb.toString();
+    }
+
+    // Parte variable de un lote cuando las instrucciones y el endpoint van en el system prompt
+    // (buildSystemPrompt); el formato de salida del lote sustituye al de un único escenario
+    public String buildBatchScenarioPrompt(List<KarateScenario> scenarios) {
+        StringBuilder sb = new StringBuilder();
+
+        appendBatchScenarios(sb, scenarios);
+
+        sb.append("TAREA:\n");
+        sb.append("Mejora cada uno de estos ").append(scenarios.size())
+                .append(" escenarios de Karate por separado siguiendo las reglas anteriores.\n\n");
+
+        appendBatchOutputFormat(sb);
+
+        return sb.toString();
+    }
+
+    private void appendBatchScenarios(StringBuilder sb, List<KarateScenario> scenarios) {
+        sb.append("ESCENARIOS BASE:\n");
+        for (int i = 0; i < scenarios.size(); i++) {
+            sb.append(String.format(BATCH_MARKER, i + 1)).append("\n");
+            sb.append(scenarios.get(i).toKarateString()).append("\n");
+        }
+        sb.append("\n");
+    }
+
+    private void appendBatchOutputFormat(StringBuilder sb) {
+        sb.append("FORMATO DE SALIDA:\n");
+        sb.append("Devuelve cada escenario completo desde 'Scenario:' hasta el último step,\n");
+        sb.append("precedido de su marcador original (").append(String.format(BATCH_MARKER, 1))
+                .append(", ").append(String.format(BATCH_MARKER, 2)).append(", ...).\n");
+        sb.append("No omitas ni fusiones escenarios.\n");
+    }
+
+    // Devuelve una sección por escenario del lote; null si el modelo la omitió
+    public List<String> splitBatchResponse(String content, int size) {
+        List<String> sections = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            sections.add(null);
+        }
+
+        Matcher matcher = BATCH_MARKER_PATTERN.matcher(content);
+        int index = -1;
+        int sectionStart = 0;
+        while (matcher.find()) {
+            storeSection(sections, index, content.substring(sectionStart, matcher.start()));
+            index = Integer.parseInt(matcher.group(1)) - 1;
+            sectionStart = matcher.end();
+        }
+        storeSection(sections, index, content.substring(sectionStart));
+
+        return sections;
+    }
+
+    private void storeSection(List<String> sections, int index, String section) {
+        if (index >= 0 && index < sections.size() && sections.get(index) == null) {
+            sections.set(index, section);
+        }
+    }
+
+    private void appendEndpoint(StringBuilder sb, Endpoint endpoint) {
+        sb.append("Eres un experto en testing de APIs y en el framework Karate.\n\n");
+        sb.append("ENDPOINT:\n");
+        sb.append("- Path: ").append(endpoint.getPath()).append("\n");
+        sb.append("- Método: ").append(endpoint.getMethod()).append("\n");
+        sb.append("- Descripción: ").append(endpoint.getSummary()).append("\n\n");
+    }
+
+    private void appendRules(StringBuilder sb) {
         sb.append("1. VALIDACIONES: Añade match para todos los campos críticos de la respuesta\n");
         sb.append("   Ejemplo: And match response.id == '#string'\n\n");
 
@@ -46,11 +172,6 @@ public class PromptBuilder {
         sb.append("- NO uses sintaxis que no sea válida en Karate\n");
         sb.append("- Devuelve SOLO el escenario mejorado, sin explicaciones\n");
         sb.append("- NO uses bloques de código markdown (```), solo el contenido\n\n");
-
-        sb.append("FORMATO DE SALIDA:\n");
-        sb.append("Devuelve el escenario completo desde 'Scenario:' hasta el último step.\n");
-
-        return sb.toString();
     }
 
     public String buildValidationPrompt(Endpoint endpoint) {
@@ -0,0 +1,162 @@
+package org.example.ia;
+
+import org.example.generator.model.KarateScenario;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reduce el tamaño de los escenarios que se envían en el prompt. Los cuerpos JSON
+// ("""...""") no hace falta que la IA los reescriba: ScenarioEnricher restaura los
+// originales al parsear la respuesta, así que aquí se pueden recortar sin perder nada
+public class PromptCompactor {
+
+    private static final Pattern FIELD_LINE = Pattern.compile("^\\s*\"([^\"]+)\"\\s*:");
+    private static final Pattern QUOTED_NAME = Pattern.compile("'([^']+)'|\\.([A-Za-z_][A-Za-z0-9_]*)");
+    private static final String DOC_STRING = "\"\"\"";
+    private static final String ELIDED_LINE = "      ...";
+    private static final String ELIDED_BODY = "    " + DOC_STRING + "\n    { ... }\n    " + DOC_STRING;
+
+    private final int tokenBudget;
+    private final int maxPredictTokens;
+
+    public PromptCompactor(int tokenBudget, int maxPredictTokens) {
+        this.tokenBudget = tokenBudget;
+        this.maxPredictTokens = maxPredictTokens;
+    }
+
+    // Estimación local (~4 caracteres por token en los tokenizadores BPE habituales)
+    public int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    // 1) Deja en los cuerpos solo los campos que el escenario menciona.
+    // 2) Si el prompt sigue superando el presupuesto, sustituye los cuerpos por un marcador
+    public Result compact(List<KarateScenario> scenarios, Function<List<KarateScenario>, String> promptFactory) {
+        int originalTokens = estimateTokens(promptFactory.apply(scenarios));
+
+        List<KarateScenario> compacted = new ArrayList<>(scenarios.size());
+        for (KarateScenario scenario : scenarios) {
+            compacted.add(trimBodies(scenario));
+        }
+        String prompt = promptFactory.apply(compacted);
+
+        if (estimateTokens(prompt) > tokenBudget) {
+            compacted.replaceAll(this::elideBodies);
+            prompt = promptFactory.apply(compacted);
+        }
+
+        int predict = 0;
+        for (KarateScenario scenario : compacted) {
+            predict += expectedOutputTokens(scenario);
+        }
+
+        return new Result(prompt, originalTokens, estimateTokens(prompt), Math.min(predict, maxPredictTokens));
+    }
+
+    // La respuesta es el mismo escenario con algunas validaciones más
+    private int expectedOutputTokens(KarateScenario scenario) {
+        return Math.max(128, estimateTokens(scenario.toKarateString()) * 2 + 64);
+    }
+
+    private KarateScenario trimBodies(KarateScenario scenario) {
+        Set<String> touched = touchedNames(scenario);
+        return rewriteBodies(scenario, step -> trimBody(step, touched));
+    }
+
+    private KarateScenario elideBodies(KarateScenario scenario) {
+        return rewriteBodies(scenario, step -> firstLine(step) + "\n" + ELIDED_BODY);
+    }
+
+    private KarateScenario rewriteBodies(KarateScenario scenario, Function<String, String> rewrite) {
+        KarateScenario copy = new KarateScenario();
+        copy.setName(scenario.getName());
+        copy.setOperationId(scenario.getOperationId());
+        copy.setDescription(scenario.getDescription());
+        copy.setTags(scenario.getTags());
+        copy.setExamples(scenario.getExamples());
+
+        for (String step : scenario.getSteps()) {
+            copy.addStep(step.contains(DOC_STRING) ? rewrite.apply(step) : step);
+        }
+        return copy;
+    }
+
+    private String trimBody(String step, Set<String> touched) {
+        if (touched.isEmpty()) return step;
+
+        StringBuilder sb = new StringBuilder();
+        boolean elided = false;
+        for (String line : step.split("\n", -1)) {
+            Matcher field = FIELD_LINE.matcher(line);
+            if (field.find() && !touched.contains(field.group(1))) {
+                if (!elided) {
+                    sb.append(ELIDED_LINE).append("\n");
+                    elided = true;
+                }
+                continue;
+            }
+            elided = false;
+            sb.append(line).append("\n");
+        }
+        sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+
+    // Nombres de campo que aparecen en el nombre del escenario, en steps sin cuerpo o en Examples
+    private Set<String> touchedNames(KarateScenario scenario) {
+        Set<String> names = new HashSet<>(Arrays.asList(scenario.getName().split("\\s+")));
+        for (String step : scenario.getSteps()) {
+            if (step.contains(DOC_STRING)) continue;
+
+            Matcher matcher = QUOTED_NAME.matcher(step);
+            while (matcher.find()) {
+                names.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            }
+        }
+        // En un Scenario Outline los campos llegan por la tabla Examples (<field>)
+        for (Map<String, String> row : scenario.getExamples()) {
+            names.addAll(row.values());
+        }
+
+        // Sin campos concretos (p. ej. happy path) no se recorta nada en el paso 1
+        Set<String> bodyFields = new HashSet<>();
+        for (String step : scenario.getSteps()) {
+            if (!step.contains(DOC_STRING)) continue;
+            for (String line : step.split("\n")) {
+                Matcher field = FIELD_LINE.matcher(line);
+                if (field.find()) {
+                    bodyFields.add(field.group(1));
+                }
+            }
+        }
+        bodyFields.retainAll(names);
+        return bodyFields;
+    }
+
+    private String firstLine(String step) {
+        int newline = step.indexOf('\n');
+        return newline < 0 ? step : step.substring(0, newline);
+    }
+
+    public static class Result {
+        private final String prompt;
+        private final int originalTokens;
+        private final int tokens;
+        private final int numPredict;
+
+        public Result(String prompt, int originalTokens, int tokens, int numPredict) {
+            this.prompt = prompt;
+            this.originalTokens = originalTokens;
+            this.tokens = tokens;
+            this.numPredict = numPredict;
+        }
+
+        public String getPrompt() { return prompt; }
+        public int getOriginalTokens() { return originalTokens; }
+        public int getTokens() { return tokens; }
+        public int getSavedTokens() { return Math.max(0, originalTokens - tokens); }
+        public int getNumPredict() { return numPredict; }
+    }
+}
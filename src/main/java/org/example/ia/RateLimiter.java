@@ -0,0 +1,45 @@
+package org.example.ia;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Limita las peticiones por segundo al proveedor de IA repartiéndolas a intervalos fijos.
+// Lo comparten todos los hilos (y en modo lote todos los contratos) que usan el mismo enricher
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlot;
+    private final AtomicInteger throttled = new AtomicInteger();
+
+    // requestsPerSecond <= 0 desactiva el límite
+    public RateLimiter(double requestsPerSecond) {
+        this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+        this.nextSlot = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        if (intervalNanos == 0) return;
+
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + intervalNanos;
+            wait = slot - now;
+        }
+
+        if (wait > 0) {
+            throttled.incrementAndGet();
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    public boolean isEnabled() {
+        return intervalNanos > 0;
+    }
+
+    // Peticiones que tuvieron que esperar su turno
+    public int getThrottled() {
+        return throttled.get();
+    }
+}
@@ -2,57 +2,373 @@ package org.example.ia;
 
 import org.example.contract.model.*;
 import org.example.generator.model.KarateScenario;
+import org.example.ia.cache.EnrichmentCache;
+import org.example.ia.mistral.GenerationRequest;
 import org.example.ia.mistral.MistralEnricher;
+import org.example.ia.mistral.OllamaClient;
+import org.example.ia.mistral.PrefillStats;
 import org.example.utils.ConfigReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class ScenarioEnricher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioEnricher.class);
-    private static final String IA_PROVIDER = ConfigReader.getPropertyByKey("IA");
-    private static final boolean USE_IA = Boolean.parseBoolean(
-            ConfigReader.getPropertyByKey("UseIA")
-    );
 
+    private final Settings settings;
+    private final EnrichmentCache cache;
     private final MistralEnricher mistralEnricher;
     private final PromptBuilder promptBuilder;
+    // System prompt por endpoint, construido una sola vez
+    private final Map<Endpoint, String> systemPrompts = new ConcurrentHashMap<>();
+    private final PromptCompactor compactor;
+    private final AtomicInteger savedPromptTokens = new AtomicInteger();
+    private final EnrichmentScheduler scheduler;
 
     public ScenarioEnricher() {
-        this.mistralEnricher = new MistralEnricher();
+        this(Settings.fromConfig(), new OllamaClient());
+    }
+
+    // Configuración y transporte explícitos: no depende de cuándo se cargó ConfigReader
+    ScenarioEnricher(Settings settings, OllamaClient client) {
+        this.settings = settings;
+        this.cache = settings.cacheEnabled ? createCache() : null;
+        this.mistralEnricher = new MistralEnricher(cache, client);
         this.promptBuilder = new PromptBuilder();
+        this.compactor = settings.promptCompaction
+                ? new PromptCompactor(settings.promptTokenBudget, settings.maxPredictTokens)
+                : null;
+        this.scheduler = new EnrichmentScheduler(settings.priorityTags, settings.deadlineMillis);
+    }
+
+    public EnrichmentCache getCache() {
+        return cache;
+    }
+
+    public PrefillStats getPrefillStats() {
+        return mistralEnricher.getPrefillStats();
+    }
+
+    public int getSkippedByCircuit() {
+        return mistralEnricher.getSkippedScenarios();
+    }
+
+    // Tokens estimados que la compactación quitó de los prompts
+    public int getSavedPromptTokens() {
+        return savedPromptTokens.get();
+    }
+
+    // Escenarios que se quedaron sin enriquecer al agotarse IADeadlineSeconds
+    public int getSkippedByDeadline() {
+        return scheduler.getSkipped();
+    }
+
+    // Peticiones que esperaron turno por el límite IARequestsPerSecond
+    public int getThrottledRequests() {
+        return mistralEnricher.getRateLimiter().getThrottled();
+    }
+
+    // Líneas de métricas IA para el resumen final
+    public void logSummary() {
+        if (cache != null) {
+            LOGGER.info("  - Caché IA: {} aciertos, {} fallos", cache.getHits(), cache.getMisses());
+        }
+        if (getSkippedByCircuit() > 0) {
+            LOGGER.info("  - Escenarios sin enriquecer (circuito IA abierto): {}", getSkippedByCircuit());
+        }
+        if (getSkippedByDeadline() > 0) {
+            LOGGER.info("  - Escenarios sin enriquecer (plazo IA agotado): {}", getSkippedByDeadline());
+        }
+        if (getThrottledRequests() > 0) {
+            LOGGER.info("  - Peticiones IA retenidas por el límite de ritmo: {}", getThrottledRequests());
+        }
+        if (getSavedPromptTokens() > 0) {
+            LOGGER.info("  - Tokens de prompt ahorrados (compactación): ~{}", getSavedPromptTokens());
+        }
+        PrefillStats prefill = getPrefillStats();
+        if (prefill.getRequests() > 0) {
+            LOGGER.info("  - Prefill IA: {} ms evaluando {} tokens, ~{} ms ahorrados ({} tokens reutilizados)",
+                    prefill.getEvaluatedMillis(), prefill.getEvaluatedTokens(),
+                    prefill.getSavedMillis(), prefill.getReusedTokens());
+        }
+    }
+
+    private static EnrichmentCache createCache() {
+        String cachePath = ConfigReader.getPropertyByKey("IACachePath", ".cache/ia");
+        long maxBytes = Long.parseLong(
+                ConfigReader.getPropertyByKey("IACacheMaxMB", "256").trim()) * 1024 * 1024;
+        EnrichmentCache cache = new EnrichmentCache(Paths.get(cachePath), maxBytes);
+
+        // Modelos cuyas respuestas cacheadas deben descartarse (p. ej. tras actualizar el modelo)
+        Arrays.stream(ConfigReader.getPropertyByKey("IACacheInvalidateModels", "").split(","))
+                .map(String::trim)
+                .filter(model -> !model.isEmpty())
+                .forEach(cache::invalidateModel);
+
+        LOGGER.info("💾 Caché IA habilitada: {} ({} entradas)", cachePath, cache.getSize());
+        return cache;
     }
 
     public List<KarateScenario> enrich(List<KarateScenario> scenarios, ApiContract contract) {
-        if (!USE_IA) {
+        return enrichWithStatus(scenarios, contract).getScenarios();
+    }
+
+    // Igual que enrich(), indicando además qué escenarios enriqueció realmente la IA
+    public Result enrichWithStatus(List<KarateScenario> scenarios, ApiContract contract) {
+        if (!settings.useIA) {
             LOGGER.info("⏭️  Enriquecimiento con IA deshabilitado");
-            return scenarios;
+            return new Result(scenarios, Collections.nCopies(scenarios.size(), false));
         }
 
-        LOGGER.info("🤖 Iniciando enriquecimiento con IA ({})", IA_PROVIDER);
+        LOGGER.info("🤖 Iniciando enriquecimiento con IA ({})", settings.provider);
 
-        List<KarateScenario> enrichedScenarios = new ArrayList<>();
+        List<List<Integer>> batches = buildBatches(scenarios);
+        if (settings.batchSize > 1) {
+            LOGGER.info("  Lotes: {} peticiones para {} escenarios", batches.size(), scenarios.size());
+        }
+
+        int skippedBefore = scheduler.getSkipped();
+        List<KarateScenario> enrichedScenarios = settings.concurrency > 1
+                ? enrichConcurrently(scenarios, batches, contract)
+                : enrichSequentially(scenarios, batches, contract);
+
+        int skipped = scheduler.getSkipped() - skippedBefore;
+        if (skipped > 0) {
+            LOGGER.warn("⏰ Plazo IA agotado: {} de {} escenarios sin enriquecer", skipped, scenarios.size());
+        }
+        LOGGER.info("✅ Enriquecimiento completado");
+
+        // Todas las salidas sin IA (error, circuito abierto, plazo, respuesta ilegible)
+        // devuelven la misma instancia del escenario original
+        List<Boolean> enriched = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            enriched.add(enrichedScenarios.get(i) != scenarios.get(i));
+        }
+        return new Result(enrichedScenarios, enriched);
+    }
+
+    // Agrupa los índices de los escenarios por operationId, en lotes de hasta IABatchSize
+    private List<List<Integer>> buildBatches(List<KarateScenario> scenarios) {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        if (settings.batchSize <= 1) {
+            for (int i = 0; i < scenarios.size(); i++) {
+                batches.add(List.of(i));
+            }
+            return batches;
+        }
+
+        Map<String, List<Integer>> openBatches = new HashMap<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            String operationId = String.valueOf(scenarios.get(i).getOperationId());
+            List<Integer> batch = openBatches.get(operationId);
+
+            if (batch == null || batch.size() >= settings.batchSize) {
+                batch = new ArrayList<>();
+                batches.add(batch);
+                openBatches.put(operationId, batch);
+            }
+            batch.add(i);
+        }
+
+        return batches;
+    }
+
+    private List<KarateScenario> enrichSequentially(List<KarateScenario> scenarios,
+                                                    List<List<Integer>> batches,
+                                                    ApiContract contract) {
+        KarateScenario[] enrichedScenarios = new KarateScenario[scenarios.size()];
         int count = 0;
 
-        for (KarateScenario scenario : scenarios) {
+        // Por prioridad; la petición en curso se corta al vencer el plazo
+        for (int index : scheduler.order(batches, scenarios)) {
+            List<Integer> batch = batches.get(index);
+            List<KarateScenario> originals = select(scenarios, batch);
             count++;
-            LOGGER.info("  Procesando {}/{}: {}", count, scenarios.size(), scenario.getName());
-
-            try {
-                KarateScenario enriched = enrichSingleScenario(scenario, contract);
-                enrichedScenarios.add(enriched);
-            } catch (Exception e) {
-                LOGGER.warn("  ⚠️  Error al enriquecer escenario, usando original: {}",
-                        e.getMessage());
-                enrichedScenarios.add(scenario);
+            if (scheduler.isExpired()) {
+                scheduler.recordSkipped(batch.size());
+                place(enrichedScenarios, batch, originals);
+                continue;
+            }
+            List<KarateScenario> result = enrichOrFallback(originals, contract, count, batches.size());
+            if (scheduler.isExpired()) {
+                // La petición en curso se cortó por el plazo: sus escenarios cuentan como omitidos
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.get(i) == originals.get(i)) {
+                        scheduler.recordSkipped(1);
+                    }
+                }
             }
+            place(enrichedScenarios, batch, result);
         }
 
-        LOGGER.info("✅ Enriquecimiento completado");
-        return enrichedScenarios;
+        return Arrays.asList(enrichedScenarios);
+    }
+
+    // Máximo IAConcurrency peticiones en vuelo, encoladas por prioridad; cada resultado vuelve a
+    // su posición de entrada para que el .feature sea idéntico al del modo secuencial
+    private List<KarateScenario> enrichConcurrently(List<KarateScenario> scenarios,
+                                                    List<List<Integer>> batches,
+                                                    ApiContract contract) {
+        LOGGER.info("  Concurrencia: {} peticiones simultáneas", settings.concurrency);
+
+        // Hilos daemon: una petición colgada no debe mantener viva la JVM
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(settings.concurrency, Math.max(1, batches.size())), runnable -> {
+                    Thread thread = new Thread(runnable, "ia-enricher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        AtomicInteger count = new AtomicInteger();
+
+        try {
+            List<Integer> order = scheduler.order(batches, scenarios);
+            List<Future<List<KarateScenario>>> futures = new ArrayList<>(Collections.nCopies(batches.size(), null));
+            for (int index : order) {
+                List<KarateScenario> originals = select(scenarios, batches.get(index));
+                // null = no llegó a despacharse antes del plazo
+                futures.set(index, executor.submit(() -> scheduler.isExpired()
+                        ? null
+                        : enrichOrFallback(originals, contract, count.incrementAndGet(), batches.size())));
+            }
+
+            KarateScenario[] enrichedScenarios = new KarateScenario[scenarios.size()];
+            for (int index : order) {
+                List<Integer> batch = batches.get(index);
+                place(enrichedScenarios, batch, awaitOrFallback(futures.get(index), select(scenarios, batch)));
+                if (scheduler.isExpired() && !executor.isShutdown()) {
+                    // Plazo vencido: se descartan los lotes encolados y se interrumpen los que esperan turno
+                    executor.shutdownNow();
+                }
+            }
+            return Arrays.asList(enrichedScenarios);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<KarateScenario> select(List<KarateScenario> scenarios, List<Integer> indexes) {
+        List<KarateScenario> selected = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            selected.add(scenarios.get(index));
+        }
+        return selected;
+    }
+
+    private void place(KarateScenario[] target, List<Integer> indexes, List<KarateScenario> scenarios) {
+        for (int i = 0; i < indexes.size(); i++) {
+            target[indexes.get(i)] = scenarios.get(i);
+        }
+    }
+
+    // Con plazo, las peticiones aún en vuelo al vencer se cancelan y su lote sale sin enriquecer
+    // (la llamada HTTP la corta OllamaClient con el mismo plazo)
+    private List<KarateScenario> awaitOrFallback(Future<List<KarateScenario>> future,
+                                                 List<KarateScenario> originals) {
+        try {
+            List<KarateScenario> result;
+            if (!scheduler.hasDeadline()) {
+                result = future.get();
+            } else {
+                try {
+                    result = future.get(scheduler.remainingNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    result = future.cancel(true) ? null : future.get();
+                }
+            }
+
+            if (result == null) {
+                scheduler.recordSkipped(originals.size());
+                return originals;
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("  ⚠️  Enriquecimiento interrumpido, usando original: {}", originals.get(0).getName());
+            return originals;
+        } catch (ExecutionException e) {
+            LOGGER.warn("  ⚠️  Error al enriquecer escenario, usando original: {}",
+                    e.getCause().getMessage());
+            return originals;
+        }
+    }
+
+    private List<KarateScenario> enrichOrFallback(List<KarateScenario> scenarios, ApiContract contract,
+                                                  int position, int total) {
+        if (scenarios.size() == 1) {
+            LOGGER.info("  Procesando {}/{}: {}", position, total, scenarios.get(0).getName());
+        } else {
+            LOGGER.info("  Procesando lote {}/{}: {} ({} escenarios)",
+                    position, total, scenarios.get(0).getOperationId(), scenarios.size());
+        }
+
+        try {
+            return scenarios.size() == 1
+                    ? List.of(enrichSingleScenario(scenarios.get(0), contract))
+                    : enrichBatch(scenarios, contract);
+        } catch (Exception e) {
+            LOGGER.warn("  ⚠️  Error al enriquecer escenario, usando original: {}",
+                    e.getMessage());
+            return scenarios;
+        }
+    }
+
+    private List<KarateScenario> enrichBatch(List<KarateScenario> scenarios, ApiContract contract) {
+        Endpoint endpoint = contract.getEndpointByOperationId(scenarios.get(0).getOperationId());
+        if (endpoint == null || !"mistral".equalsIgnoreCase(settings.provider)) {
+            List<KarateScenario> enriched = new ArrayList<>(scenarios.size());
+            for (KarateScenario scenario : scenarios) {
+                enriched.add(enrichSingleScenario(scenario, contract));
+            }
+            return enriched;
+        }
+
+        GenerationRequest request;
+        if (settings.reuseContext) {
+            // Mismo system prompt que los escenarios sueltos del endpoint: Ollama reutiliza su prefijo
+            request = buildRequest("", scenarios, promptBuilder::buildBatchScenarioPrompt);
+            request.setSystem(systemPrompts.computeIfAbsent(endpoint, promptBuilder::buildSystemPrompt));
+        } else {
+            request = buildRequest("", scenarios,
+                    batch -> promptBuilder.buildBatchEnrichmentPrompt(batch, endpoint));
+        }
+        request.setScenarios(scenarios.size());
+        String content = mistralEnricher.enrichAsync(request).join();
+        if (content == request.getBaseContent()) {
+            return scenarios;
+        }
+        List<String> sections = promptBuilder.splitBatchResponse(content, scenarios.size());
+
+        // Cada sección ausente o ilegible conserva su escenario original
+        List<KarateScenario> enriched = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            String section = sections.get(i);
+            if (section == null) {
+                LOGGER.warn("  ⚠️  Escenario {} ausente en la respuesta del lote, usando original",
+                        scenarios.get(i).getName());
+                enriched.add(scenarios.get(i));
+            } else {
+                enriched.add(parseEnrichedScenario(section, scenarios.get(i)));
+            }
+        }
+        return enriched;
     }
 
     private KarateScenario enrichSingleScenario(KarateScenario scenario, ApiContract contract) {
@@ -63,30 +379,71 @@ public class ScenarioEnricher {
             return scenario;
         }
 
-        // Construir prompt
-        String prompt = promptBuilder.buildEnrichmentPrompt(scenario, endpoint);
-
         // Llamar a IA según proveedor
-        String enrichedContent = switch (IA_PROVIDER.toLowerCase()) {
-            case "mistral" -> {
-                LOGGER.debug("  → Usando Mistral (Ollama)");
-                yield mistralEnricher.enrichScenario(scenario.toKarateString(), prompt);
-            }
-            default -> {
-                LOGGER.warn("  ⚠️  Proveedor de IA desconocido: {}", IA_PROVIDER);
-                yield scenario.toKarateString();
-            }
-        };
+        if (!"mistral".equalsIgnoreCase(settings.provider)) {
+            LOGGER.warn("  ⚠️  Proveedor de IA desconocido: {}", settings.provider);
+            return scenario;
+        }
+
+        LOGGER.debug("  → Usando Mistral (Ollama)");
+        GenerationRequest request;
+        if (settings.reuseContext) {
+            request = buildRequest(scenario.toKarateString(), List.of(scenario),
+                    single -> promptBuilder.buildScenarioPrompt(single.get(0)));
+            request.setSystem(systemPrompts.computeIfAbsent(endpoint, promptBuilder::buildSystemPrompt));
+        } else {
+            // Construir prompt
+            request = buildRequest(scenario.toKarateString(), List.of(scenario),
+                    single -> promptBuilder.buildEnrichmentPrompt(single.get(0), endpoint));
+        }
+        String enrichedContent = mistralEnricher.enrichAsync(request).join();
+
+        // MistralEnricher devuelve el contenido base ante un error o con el circuito abierto
+        if (enrichedContent == request.getBaseContent()) {
+            return scenario;
+        }
 
         // Parsear escenario enriquecido
         return parseEnrichedScenario(enrichedContent, scenario);
     }
 
+    private GenerationRequest buildRequest(String baseContent, List<KarateScenario> scenarios,
+                                           Function<List<KarateScenario>, String> promptFactory) {
+        if (compactor == null) {
+            GenerationRequest request = new GenerationRequest(baseContent, promptFactory.apply(scenarios));
+            request.setDeadline(scheduler.getDeadline());
+            return request;
+        }
+
+        PromptCompactor.Result compacted = compactor.compact(scenarios, promptFactory);
+        savedPromptTokens.addAndGet(compacted.getSavedTokens());
+        LOGGER.debug("  ✂️  Prompt compactado: {} → {} tokens (-{}), num_predict={}",
+                compacted.getOriginalTokens(), compacted.getTokens(),
+                compacted.getSavedTokens(), compacted.getNumPredict());
+
+        GenerationRequest request = new GenerationRequest(baseContent, compacted.getPrompt());
+        request.setNumPredict(compacted.getNumPredict());
+        request.setDeadline(scheduler.getDeadline());
+        return request;
+    }
+
     private KarateScenario parseEnrichedScenario(String content, KarateScenario original) {
         KarateScenario enriched = new KarateScenario();
         enriched.setName(original.getName());
         enriched.setTags(original.getTags());
         enriched.setOperationId(original.getOperationId());
+        // La tabla Examples no pasa por la IA: los steps enriquecidos siguen usando sus <columnas>
+        enriched.setExamples(original.getExamples());
+
+        // Steps con cuerpo multilínea ("""): la IA solo devuelve la primera línea
+        // (o una versión compactada), así que se restaura el step original completo
+        Map<String, String> multiLineSteps = new HashMap<>();
+        for (String step : original.getSteps()) {
+            int newline = step.indexOf('\n');
+            if (newline > 0) {
+                multiLineSteps.putIfAbsent(step.substring(0, newline).trim(), step);
+            }
+        }
 
         // Parsear steps
         String[] lines = content.split("\n");
@@ -97,7 +454,7 @@ public class ScenarioEnricher {
             if (line.startsWith("Given ") || line.startsWith("And ") ||
                     line.startsWith("When ") || line.startsWith("Then ") ||
                     line.startsWith("* ")) {
-                enriched.addStep(line);
+                enriched.addStep(multiLineSteps.getOrDefault(line, line));
             }
         }
 
@@ -109,4 +466,62 @@ public class ScenarioEnricher {
 
         return enriched;
     }
+
+    public static class Result {
+        private final List<KarateScenario> scenarios;
+        private final List<Boolean> enriched;
+
+        private Result(List<KarateScenario> scenarios, List<Boolean> enriched) {
+            this.scenarios = scenarios;
+            this.enriched = enriched;
+        }
+
+        public List<KarateScenario> getScenarios() { return scenarios; }
+
+        // Un flag por escenario, en el mismo orden: true solo si la IA respondió y se pudo parsear
+        public List<Boolean> getEnriched() { return enriched; }
+    }
+
+    // Claves de config.properties que gobiernan el enriquecimiento
+    static final class Settings {
+        static final String DEFAULT_PRIORITY_TAGS = "@smoke,@happyPath,@error,@validation,@edgeCase";
+
+        String provider;
+        boolean useIA;
+        int concurrency;
+        boolean reuseContext;
+        int batchSize;
+        boolean cacheEnabled;
+        boolean promptCompaction;
+        int promptTokenBudget;
+        int maxPredictTokens;
+        List<String> priorityTags;
+        long deadlineMillis;   // <= 0 = sin plazo
+
+        static Settings fromConfig() {
+            Settings settings = new Settings();
+            settings.provider = ConfigReader.getPropertyByKey("IA");
+            settings.useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA"));
+            settings.concurrency = Math.max(1, Integer.parseInt(
+                    ConfigReader.getPropertyByKey("IAConcurrency", "1").trim()));
+            settings.reuseContext = Boolean.parseBoolean(ConfigReader.getPropertyByKey("IAReuseContext", "false"));
+            settings.batchSize = Math.max(1, Integer.parseInt(
+                    ConfigReader.getPropertyByKey("IABatchSize", "1").trim()));
+            settings.cacheEnabled = Boolean.parseBoolean(ConfigReader.getPropertyByKey("IACacheEnabled", "false"));
+            settings.promptCompaction = Boolean.parseBoolean(
+                    ConfigReader.getPropertyByKey("IAPromptCompaction", "false"));
+            settings.promptTokenBudget = Integer.parseInt(
+                    ConfigReader.getPropertyByKey("IAPromptTokenBudget", "1500").trim());
+            settings.maxPredictTokens = Integer.parseInt(
+                    ConfigReader.getPropertyByKey("IAMaxPredictTokens", "2048").trim());
+            settings.priorityTags = Arrays.stream(
+                            ConfigReader.getPropertyByKey("IAPriorityTags", DEFAULT_PRIORITY_TAGS).split(","))
+                    .map(String::trim)
+                    .filter(tag -> !tag.isEmpty())
+                    .toList();
+            settings.deadlineMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(
+                    ConfigReader.getPropertyByKey("IADeadlineSeconds", "0").trim()));
+            return settings;
+        }
+    }
 }
\ No newline at end of file
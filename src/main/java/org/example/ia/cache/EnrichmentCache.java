@@ -0,0 +1,216 @@
+package org.example.ia.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class EnrichmentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnrichmentCache.class);
+    private static final String ENTRY_SUFFIX = ".txt";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Orden de acceso: la primera entrada es la menos usada recientemente
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public EnrichmentCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        loadIndex();
+    }
+
+    public String key(String model, Map<String, Object> options, String prompt) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(model).append('\n');
+        new TreeMap<>(options).forEach((name, value) ->
+                sb.append(name).append('=').append(value).append('\n'));
+        sb.append(prompt);
+        return sha256(sb.toString());
+    }
+
+    // Solo el índice LRU va bajo el lock; la lectura y escritura de ficheros se hace fuera para
+    // no serializar a los hilos de enriquecimiento. Si un fichero desaparece entre el índice y la
+    // lectura (expulsión concurrente), la entrada se olvida y cuenta como fallo
+    public Optional<String> get(String model, String key) {
+        Path entry = entryPath(model, key);
+
+        synchronized (this) {
+            // get() actualiza el orden de acceso del índice LRU
+            if (entries.get(entry) == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+        }
+
+        try {
+            String content = Files.readString(entry, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return Optional.of(content);
+        } catch (IOException e) {
+            LOGGER.warn("⚠️  No se pudo leer la entrada de caché {}: {}", entry, e.getMessage());
+            synchronized (this) {
+                forget(entry);
+            }
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String model, String key, String content) {
+        Path entry = entryPath(model, key);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            // Fichero temporal + movimiento atómico: una caída nunca deja una entrada a medias
+            Files.createDirectories(entry.getParent());
+            Path temp = Files.createTempFile(entry.getParent(), key, TEMP_SUFFIX);
+            try {
+                Files.write(temp, bytes);
+                move(temp, entry);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("⚠️  No se pudo escribir la entrada de caché {}: {}", entry, e.getMessage());
+            return;
+        }
+
+        List<Path> evicted;
+        synchronized (this) {
+            forget(entry);
+            entries.put(entry, (long) bytes.length);
+            totalBytes += bytes.length;
+            evicted = evict();
+        }
+        evicted.forEach(this::deleteFile);
+    }
+
+    public int invalidateModel(String model) {
+        Path modelDir = directory.resolve(sanitize(model));
+        List<Path> removed = new ArrayList<>();
+
+        synchronized (this) {
+            for (Path entry : entries.keySet()) {
+                if (entry.startsWith(modelDir)) {
+                    removed.add(entry);
+                }
+            }
+            removed.forEach(this::forget);
+        }
+        removed.forEach(this::deleteFile);
+
+        LOGGER.info("🗑️  Caché IA invalidada para el modelo {}: {} entradas", model, removed.size());
+        return removed.size();
+    }
+
+    public int getHits() { return hits.get(); }
+    public int getMisses() { return misses.get(); }
+    public synchronized int getSize() { return entries.size(); }
+
+    private void loadIndex() {
+        if (!Files.isDirectory(directory)) return;
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .forEach(p -> {
+                        // Temporales huérfanos de una escritura interrumpida
+                        if (p.toString().endsWith(TEMP_SUFFIX)) {
+                            deleteFile(p);
+                        } else if (p.toString().endsWith(ENTRY_SUFFIX)) {
+                            long size = p.toFile().length();
+                            entries.put(p, size);
+                            totalBytes += size;
+                        }
+                    });
+        } catch (IOException e) {
+            LOGGER.warn("⚠️  No se pudo leer el directorio de caché {}: {}", directory, e.getMessage());
+        }
+
+        LOGGER.debug("  ✓ Caché IA: {} entradas ({} bytes)", entries.size(), totalBytes);
+        evict().forEach(this::deleteFile);
+    }
+
+    // Saca del índice las entradas menos usadas hasta caber en maxBytes; el llamante borra los
+    // ficheros devueltos fuera del lock
+    private List<Path> evict() {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<Path, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Path, Long> entry = eldest.next();
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            evicted.add(entry.getKey());
+            LOGGER.debug("  ✓ Caché IA: entrada expulsada {}", entry.getKey().getFileName());
+        }
+        return evicted;
+    }
+
+    private void forget(Path entry) {
+        Long size = entries.remove(entry);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void deleteFile(Path entry) {
+        try {
+            Files.deleteIfExists(entry);
+        } catch (IOException e) {
+            LOGGER.warn("⚠️  No se pudo eliminar la entrada de caché {}: {}", entry, e.getMessage());
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path entryPath(String model, String key) {
+        return directory.resolve(sanitize(model)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    private String sanitize(String model) {
+        return model.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.ia.mistral;
+
+public class GenerationRequest {
+    private final String baseContent;
+    private final String prompt;
+    private String system;
+    private int scenarios;
+    private int numPredict;
+    private long deadline;
+
+    // baseContent es lo que se devuelve si la llamada falla o se omite
+    public GenerationRequest(String baseContent, String prompt) {
+        this.baseContent = baseContent;
+        this.prompt = prompt;
+        this.scenarios = 1;
+    }
+
+    public String getBaseContent() { return baseContent; }
+
+    public String getPrompt() { return prompt; }
+
+    public String getSystem() { return system; }
+    public void setSystem(String system) { this.system = system; }
+
+    public int getScenarios() { return scenarios; }
+    public void setScenarios(int scenarios) { this.scenarios = scenarios; }
+
+    // 0 = sin límite explícito de tokens de salida
+    public int getNumPredict() { return numPredict; }
+    public void setNumPredict(int numPredict) { this.numPredict = numPredict; }
+
+    // System.nanoTime() a partir del cual se corta la petición; 0 = sin plazo
+    public long getDeadline() { return deadline; }
+    public void setDeadline(long deadline) { this.deadline = deadline; }
+}
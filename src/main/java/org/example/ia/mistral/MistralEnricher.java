@@ -1,116 +1,206 @@
 package org.example.ia.mistral;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ia.CircuitBreaker;
+import org.example.ia.RateLimiter;
+import org.example.ia.cache.EnrichmentCache;
 import org.example.utils.ConfigReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MistralEnricher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MistralEnricher.class);
-    private static final String OLLAMA_URI = ConfigReader.getPropertyByKey("OllamaURI");
     private static final String MODEL = ConfigReader.getPropertyByKey("OllamaModel");
-    private static final int CONNECT_TIMEOUT = 100000; // 100s
-    private static final int READ_TIMEOUT = 300000;    // 300s
+    private static final boolean STREAM = Boolean.parseBoolean(
+            ConfigReader.getPropertyByKey("OllamaStream", "false"));
+    private static final String KEEP_ALIVE = ConfigReader.getPropertyByKey("OllamaKeepAlive", "");
+    private static final int CIRCUIT_FAILURE_THRESHOLD = Integer.parseInt(
+            ConfigReader.getPropertyByKey("IACircuitFailureThreshold", "3").trim());
+    private static final long CIRCUIT_OPEN_MILLIS = Long.parseLong(
+            ConfigReader.getPropertyByKey("IACircuitOpenMillis", "30000").trim());
+    private static final double REQUESTS_PER_SECOND = Double.parseDouble(
+            ConfigReader.getPropertyByKey("IARequestsPerSecond", "0").trim());
+
+    private final OllamaClient client;
+    private final EnrichmentCache cache;
+    private final PrefillStats prefillStats = new PrefillStats();
+    private final CircuitBreaker circuitBreaker =
+            new CircuitBreaker("Ollama", CIRCUIT_FAILURE_THRESHOLD, CIRCUIT_OPEN_MILLIS);
+    private final AtomicInteger skippedScenarios = new AtomicInteger();
+    private final RateLimiter rateLimiter = new RateLimiter(REQUESTS_PER_SECOND);
+
+    public MistralEnricher() {
+        this(null);
+    }
 
-    public String enrichScenario(String baseScenario, String prompt) {
-        try {
-            LOGGER.debug("🦙 Enviando request a Ollama...");
+    public MistralEnricher(EnrichmentCache cache) {
+        this(cache, new OllamaClient());
+    }
 
-            URI uri = new URI(OLLAMA_URI);
-            URL url = uri.toURL();
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    public MistralEnricher(EnrichmentCache cache, OllamaClient client) {
+        this.client = client;
+        this.cache = cache;
+    }
 
-            // Configurar timeouts
-            conn.setConnectTimeout(CONNECT_TIMEOUT);
-            conn.setReadTimeout(READ_TIMEOUT);
+    public String enrichScenario(String baseScenario, String prompt) {
+        return enrichScenarioAsync(baseScenario, prompt).join();
+    }
 
-            // Configurar request
-            conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/json");
-            conn.setDoOutput(true);
+    public CompletableFuture<String> enrichScenarioAsync(String baseScenario, String prompt) {
+        return enrichAsync(new GenerationRequest(baseScenario, prompt));
+    }
 
-            // Construir JSON body
-            Map<String, Object> jsonBody = buildRequestBody(prompt);
-            String jsonRequest = new ObjectMapper().writeValueAsString(jsonBody);
+    public CompletableFuture<String> enrichAsync(GenerationRequest request) {
+        if (cache == null) {
+            return callOllama(request);
+        }
 
-            // Enviar request
-            try (OutputStream os = conn.getOutputStream()) {
-                byte[] input = jsonRequest.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
+        String key = cache.key(MODEL, buildOptions(request), request.getSystem() == null
+                ? request.getPrompt()
+                : request.getSystem() + "\u0000" + request.getPrompt());
+        Optional<String> cached = cache.get(MODEL, key);
+        if (cached.isPresent()) {
+            LOGGER.debug("💾 Respuesta obtenida de la caché IA");
+            return CompletableFuture.completedFuture(cached.get());
+        }
 
-            // Verificar status code
-            int statusCode = conn.getResponseCode();
-            if (statusCode != 200) {
-                LOGGER.error("❌ Ollama retornó status code: {}", statusCode);
-                return baseScenario;
+        return callOllama(request).thenApply(enrichedScenario -> {
+            // Solo se cachean respuestas reales, no el escenario base devuelto ante un error
+            if (enrichedScenario != request.getBaseContent()) {
+                cache.put(MODEL, key, enrichedScenario);
             }
+            return enrichedScenario;
+        });
+    }
+
+    public String getModel() {
+        return MODEL;
+    }
 
-            // Leer response
-            String response = readResponse(conn);
+    public PrefillStats getPrefillStats() {
+        return prefillStats;
+    }
 
-            // Parsear respuesta
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode jsonResponse = mapper.readTree(response);
-            String enrichedScenario = jsonResponse.get("response").asText();
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
 
-            LOGGER.debug("✅ Respuesta recibida de Ollama");
-            return enrichedScenario;
+    // Escenarios devueltos sin enriquecer porque el circuito estaba abierto
+    public int getSkippedScenarios() {
+        return skippedScenarios.get();
+    }
+
+    private CompletableFuture<String> callOllama(GenerationRequest request) {
+        // Se espera turno antes de consultar el circuito para no retener la petición de prueba
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(request.getBaseContent());
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            LOGGER.debug("⏭️  Circuito abierto, se omite la llamada a Ollama");
+            skippedScenarios.addAndGet(request.getScenarios());
+            return CompletableFuture.completedFuture(request.getBaseContent());
+        }
+
+        LOGGER.debug("🦙 Enviando request a Ollama...");
+
+        // Un lote contiene varios escenarios: el corte anticipado del streaming se quedaría
+        // con el primero, así que la respuesta se pide completa
+        boolean stream = STREAM && request.getScenarios() == 1;
+        Map<String, Object> body = buildRequestBody(request, stream);
+        CompletableFuture<JsonNode> response = stream
+                ? client.generateStreamingAsync(body, request.getDeadline())
+                : client.generateAsync(body, request.getDeadline());
+
+        String system = request.getSystem();
+        return response
+                .thenApply(json -> {
+                    LOGGER.debug("✅ Respuesta recibida de Ollama");
+                    // El system prompt (instrucciones + endpoint) es idéntico para todos los
+                    // escenarios de un endpoint: Ollama reutiliza su KV-cache para ese prefijo
+                    if (system != null) {
+                        prefillStats.record(system, system.length() + request.getPrompt().length(), json);
+                    }
+                    String enrichedScenario = json.get("response").asText();
+                    circuitBreaker.recordSuccess();
+                    return enrichedScenario;
+                })
+                .exceptionally(error -> {
+                    Throwable cause = unwrap(error);
+                    // Un corte por plazo no dice nada de la salud de Ollama
+                    if (cause instanceof OllamaClient.DeadlineExceededException) {
+                        LOGGER.warn("⏰ Petición a Ollama cortada: plazo IA agotado");
+                        circuitBreaker.release();
+                        return request.getBaseContent();
+                    }
+                    circuitBreaker.recordFailure();
+                    return handleError(cause, request.getBaseContent());
+                });
+    }
 
-        } catch (java.net.SocketTimeoutException e) {
-            LOGGER.error("⏱️  Timeout al conectar con Ollama: {}", e.getMessage());
+    private String handleError(Throwable error, String baseScenario) {
+        if (error instanceof HttpTimeoutException) {
+            LOGGER.error("⏱️  Timeout al conectar con Ollama: {}", error.getMessage());
             LOGGER.error("💡 Sugerencia: Aumenta los timeouts en config.properties o usa un modelo más pequeño");
-            return baseScenario;
-        } catch (java.net.ConnectException e) {
-            LOGGER.error("❌ No se pudo conectar con Ollama en {}", OLLAMA_URI);
+        } else if (error instanceof ConnectException) {
+            LOGGER.error("❌ No se pudo conectar con Ollama en {}", client.getUri());
             LOGGER.error("💡 Verifica que Ollama esté corriendo: ollama serve");
-            return baseScenario;
-        } catch (IOException | java.net.URISyntaxException e) {
-            LOGGER.error("❌ Error al comunicarse con Ollama: {}", e.getMessage());
-            LOGGER.error("💡 Verifica que Ollama esté instalado y corriendo en {}", OLLAMA_URI);
-            return baseScenario;
+        } else {
+            LOGGER.error("❌ Error al comunicarse con Ollama: {}", error.getMessage());
+            LOGGER.error("💡 Verifica que Ollama esté instalado y corriendo en {}", client.getUri());
         }
+        return baseScenario;
     }
 
-    private Map<String, Object> buildRequestBody(String prompt) {
+    private Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private Map<String, Object> buildRequestBody(GenerationRequest request, boolean stream) {
         Map<String, Object> body = new HashMap<>();
         body.put("model", MODEL);
-        body.put("prompt", prompt);
-        body.put("stream", false);
+        body.put("prompt", request.getPrompt());
+        body.put("stream", stream);
+        if (request.getSystem() != null) {
+            body.put("system", request.getSystem());
+        }
+        // Mantiene el modelo (y su KV-cache) cargado entre peticiones
+        if (!KEEP_ALIVE.isBlank()) {
+            body.put("keep_alive", KEEP_ALIVE);
+        }
+        body.put("options", buildOptions(request));
 
+        return body;
+    }
+
+    private Map<String, Object> buildOptions(GenerationRequest request) {
         // Opciones para mejorar la salida
         Map<String, Object> options = new HashMap<>();
         options.put("temperature", 0.7);  // Creatividad moderada
         options.put("top_p", 0.9);
         options.put("top_k", 40);
-        body.put("options", options);
-
-        return body;
-    }
-
-    private String readResponse(HttpURLConnection conn) throws IOException {
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line.trim());
-            }
-            return response.toString();
+        if (request.getNumPredict() > 0) {
+            options.put("num_predict", request.getNumPredict());
         }
+        return options;
     }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package org.example.ia.mistral;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Transporte HTTP hacia Ollama: un único HttpClient con conexiones keep-alive
+// compartido por todas las peticiones, y lectores/escritores JSON inmutables
+public class OllamaClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OllamaClient.class);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofMillis(Long.parseLong(
+            ConfigReader.getPropertyByKey("OllamaConnectTimeout", "100000").trim()));
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(Long.parseLong(
+            ConfigReader.getPropertyByKey("OllamaReadTimeout", "300000").trim()));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = MAPPER.reader();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+
+    // Ollama solo habla HTTP/1.1; se evita el intento de upgrade a h2c
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+
+    // Hilos daemon para leer y parsear respuestas; crece con las peticiones en vuelo, que ya
+    // limita IAConcurrency
+    private static final ExecutorService BODY_READERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ollama-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Un único hilo para los plazos; las tareas canceladas salen de la cola en el acto
+    private static final ScheduledThreadPoolExecutor DEADLINE_TIMER = createDeadlineTimer();
+
+    private final String uri;
+
+    public OllamaClient() {
+        this(ConfigReader.getPropertyByKey("OllamaURI"));
+    }
+
+    public OllamaClient(String uri) {
+        this.uri = uri;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public CompletableFuture<JsonNode> generateAsync(Map<String, Object> body) {
+        return generateAsync(body, 0);
+    }
+
+    // deadline: System.nanoTime() a partir del cual se corta la petición (0 = sin plazo)
+    public CompletableFuture<JsonNode> generateAsync(Map<String, Object> body, long deadline) {
+        // El HttpClient acumula el cuerpo sin bloquear; solo el parseo pasa al pool de lectura
+        return send(body, deadline, HttpResponse.BodyHandlers.ofByteArray(), bytes -> {
+            if (expired(deadline)) {
+                throw new UncheckedIOException(new DeadlineExceededException());
+            }
+            try {
+                return READER.readTree(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Consume los chunks NDJSON a medida que llegan y cierra el stream en cuanto el
+    // escenario está completo, lo que corta la conexión y hace que Ollama aborte la generación.
+    // El resultado tiene la misma forma que la respuesta sin streaming
+    public CompletableFuture<JsonNode> generateStreamingAsync(Map<String, Object> body) {
+        return generateStreamingAsync(body, 0);
+    }
+
+    public CompletableFuture<JsonNode> generateStreamingAsync(Map<String, Object> body, long deadline) {
+        return send(body, deadline, HttpResponse.BodyHandlers.ofInputStream(), stream -> {
+            ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+            ObjectNode result = MAPPER.createObjectNode();
+
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+
+                    JsonNode chunk = READER.readTree(line);
+                    if (chunk.hasNonNull("error")) {
+                        throw new OllamaException(chunk.get("error").asText());
+                    }
+
+                    if (assembler.append(chunk.path("response").asText())) {
+                        LOGGER.debug("✂️  Escenario completo, cortando la generación");
+                        break;
+                    }
+                    if (chunk.path("done").asBoolean(false)) {
+                        // El último chunk trae las métricas (prompt_eval_count, eval_count, ...)
+                        result.setAll((ObjectNode) chunk);
+                        break;
+                    }
+                }
+                // Un cuerpo cerrado por el plazo termina como fin de stream: no es un escenario completo
+                if (expired(deadline)) {
+                    throw new DeadlineExceededException();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(expired(deadline) ? new DeadlineExceededException() : e);
+            }
+
+            return result.put("response", assembler.getText());
+        });
+    }
+
+    // La lectura del cuerpo (bloqueante en streaming) corre en BODY_READERS, nunca en los hilos
+    // del HttpClient, que quedan libres para el resto de intercambios
+    private <T, R> CompletableFuture<R> send(Map<String, Object> body, long deadline,
+                                             HttpResponse.BodyHandler<T> handler, Function<T, R> reader) {
+        Duration timeout = READ_TIMEOUT;
+        if (deadline != 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return CompletableFuture.failedFuture(new DeadlineExceededException());
+            }
+            timeout = Duration.ofNanos(Math.min(remaining, READ_TIMEOUT.toNanos()));
+        }
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(uri))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(WRITER.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<HttpResponse<T>> exchange = HTTP_CLIENT.sendAsync(request, handler);
+        CompletableFuture<R> result = exchange.handle((response, error) -> {
+            if (error != null) {
+                if (expired(deadline)) {
+                    throw new UncheckedIOException(new DeadlineExceededException());
+                }
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            if (response.statusCode() != 200) {
+                closeQuietly(response.body());
+                throw new UncheckedIOException(
+                        new OllamaException("Ollama retornó status code: " + response.statusCode()));
+            }
+            return response.body();
+        }).thenApplyAsync(reader, BODY_READERS);
+
+        if (deadline != 0) {
+            // HttpRequest.timeout solo cubre hasta las cabeceras: al vencer el plazo se cancela el
+            // intercambio (cierra la conexión) o, si la respuesta ya llegó, se cierra su cuerpo
+            ScheduledFuture<?> timer = DEADLINE_TIMER.schedule(() -> {
+                if (!exchange.cancel(true) && !exchange.isCompletedExceptionally()) {
+                    closeQuietly(exchange.join().body());
+                }
+            }, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            // Terminada la llamada se libera el temporizador, que si no retendría la respuesta hasta el plazo
+            return result.whenComplete((value, error) -> timer.cancel(false));
+        }
+        return result;
+    }
+
+    // Plazos aún programados: las llamadas terminadas no deben dejar ninguno
+    static int pendingDeadlines() {
+        return DEADLINE_TIMER.getQueue().size();
+    }
+
+    private static ScheduledThreadPoolExecutor createDeadlineTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ollama-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static boolean expired(long deadline) {
+        return deadline != 0 && deadline - System.nanoTime() <= 0;
+    }
+
+    // Solo los cuerpos en streaming tienen algo que cerrar
+    private void closeQuietly(Object body) {
+        if (!(body instanceof Closeable closeable)) return;
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            LOGGER.debug("  No se pudo cerrar la respuesta de Ollama: {}", e.getMessage());
+        }
+    }
+
+    public static class OllamaException extends IOException {
+        public OllamaException(String message) {
+            super(message);
+        }
+    }
+
+    // La petición se cortó al vencer el plazo del enriquecimiento (IADeadlineSeconds)
+    public static class DeadlineExceededException extends OllamaException {
+        public DeadlineExceededException() {
+            super("plazo IA agotado");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.ia.mistral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Acumula los tiempos de prefill (prompt_eval_*) que reporta Ollama y estima cuánto se
+// ahorra al reutilizar el prefijo común de cada endpoint. La primera petición de cada
+// prefijo se toma como referencia (sin caché): fija los tokens por carácter y el
+// coste por token con los que se estiman los tokens reutilizados en las siguientes
+public class PrefillStats {
+
+    private final Map<String, Baseline> baselines = new HashMap<>();
+    private long requests;
+    private long evaluatedTokens;
+    private long evaluatedNanos;
+    private long reusedTokens;
+    private long savedNanos;
+
+    public synchronized void record(String prefix, int promptChars, JsonNode response) {
+        if (!response.has("prompt_eval_duration")) return;
+
+        long count = response.path("prompt_eval_count").asLong(0);
+        long nanos = response.path("prompt_eval_duration").asLong(0);
+        requests++;
+        evaluatedTokens += count;
+        evaluatedNanos += nanos;
+
+        Baseline baseline = baselines.get(prefix);
+        if (baseline == null) {
+            if (count > 0 && promptChars > 0) {
+                baselines.put(prefix, new Baseline((double) count / promptChars, (double) nanos / count));
+            }
+            return;
+        }
+
+        long expectedTokens = Math.round(promptChars * baseline.tokensPerChar);
+        long reused = Math.max(0, expectedTokens - count);
+        reusedTokens += reused;
+        savedNanos += Math.round(reused * baseline.nanosPerToken);
+    }
+
+    public synchronized long getRequests() { return requests; }
+    public synchronized long getEvaluatedTokens() { return evaluatedTokens; }
+    public synchronized long getEvaluatedMillis() { return evaluatedNanos / 1_000_000; }
+    public synchronized long getReusedTokens() { return reusedTokens; }
+    public synchronized long getSavedMillis() { return savedNanos / 1_000_000; }
+
+    private record Baseline(double tokensPerChar, double nanosPerToken) {}
+}
@@ -0,0 +1,80 @@
+package org.example.ia.mistral;
+
+// Ensambla la respuesta en streaming de Ollama e indica cuándo cortar la generación:
+// al terminar el bloque 'Scenario:' o cuando el modelo empieza a divagar
+// (bloques markdown, un segundo escenario o texto explicativo)
+public class ScenarioStreamAssembler {
+
+    private final StringBuilder text = new StringBuilder();
+    private int lineStart;
+    private boolean scenarioStarted;
+    private boolean inDocString;
+    private int steps;
+    private boolean complete;
+
+    public boolean append(String chunk) {
+        if (complete) return true;
+
+        text.append(chunk);
+
+        int newline;
+        while (!complete && (newline = text.indexOf("\n", lineStart)) >= 0) {
+            String line = text.substring(lineStart, newline).trim();
+            if (shouldCutBefore(line)) {
+                text.setLength(lineStart);
+                complete = true;
+            } else {
+                lineStart = newline + 1;
+            }
+        }
+
+        return complete;
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private boolean shouldCutBefore(String line) {
+        // Solo una línea que empieza por """ abre o cierra el docstring; un """ en mitad de
+        // un step (apertura y cierre en la misma línea) no cambia el estado
+        if (line.startsWith("\"\"\"")) {
+            inDocString = !inDocString;
+            return false;
+        }
+        if (inDocString) return false;
+
+        // Bloques markdown: se ignora la apertura inicial, cualquier otro indica el final
+        if (line.startsWith("```")) {
+            return scenarioStarted;
+        }
+
+        if (line.startsWith("Scenario:") || line.startsWith("Scenario Outline:")) {
+            if (scenarioStarted) return true;
+            scenarioStarted = true;
+            return false;
+        }
+
+        if (!scenarioStarted || line.isEmpty() || line.startsWith("#")) {
+            return false;
+        }
+
+        if (isStep(line) || line.startsWith("|") || line.startsWith("Examples:")) {
+            steps++;
+            return false;
+        }
+
+        // Tags de otro escenario o texto libre después de los steps
+        return steps > 0;
+    }
+
+    private boolean isStep(String line) {
+        return line.startsWith("Given ") || line.startsWith("And ") ||
+                line.startsWith("When ") || line.startsWith("Then ") ||
+                line.startsWith("But ") || line.startsWith("* ");
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.incremental;
+
+import org.example.contract.model.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+// Huella estable de todo lo que los generadores leen de un Endpoint: ruta, método,
+// metadatos, parámetros, body y respuestas. Las propiedades se recorren ordenadas y los
+// schemas compartidos (components) se serializan una sola vez por instancia
+public class EndpointFingerprint {
+
+    private final Map<Schema, String> componentCache = new IdentityHashMap<>();
+
+    public String of(Endpoint endpoint) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(endpoint.getMethod()).append(' ').append(endpoint.getPath()).append('\n');
+        sb.append("operationId=").append(endpoint.getOperationId()).append('\n');
+        sb.append("summary=").append(endpoint.getSummary()).append('\n');
+        sb.append("description=").append(endpoint.getDescription()).append('\n');
+        sb.append("tags=").append(endpoint.getTags()).append('\n');
+
+        for (Parameter param : endpoint.getParameters()) {
+            sb.append("param ").append(param.getIn()).append(':').append(param.getName())
+                    .append(" required=").append(param.isRequired())
+                    .append(" type=").append(param.getType())
+                    .append(" format=").append(param.getFormat())
+                    .append(" minLength=").append(param.getMinLength())
+                    .append(" maxLength=").append(param.getMaxLength())
+                    .append(" example=").append(param.getExample())
+                    .append('\n');
+        }
+
+        sb.append("body=");
+        appendSchema(sb, endpoint.getRequestBody(), Collections.newSetFromMap(new IdentityHashMap<>()));
+        sb.append('\n');
+
+        for (Integer status : new TreeSet<>(endpoint.getResponses().keySet())) {
+            Response response = endpoint.getResponses().get(status);
+            sb.append("response ").append(status).append(' ').append(response.getDescription()).append(' ');
+            appendSchema(sb, response.getSchema(), Collections.newSetFromMap(new IdentityHashMap<>()));
+            sb.append('\n');
+        }
+
+        return sha256(sb.toString());
+    }
+
+    private void appendSchema(StringBuilder sb, Schema schema, Set<Schema> visiting) {
+        if (schema == null) {
+            sb.append("null");
+            return;
+        }
+
+        // Referencia cíclica: basta con el nombre del componente
+        if (visiting.contains(schema)) {
+            sb.append("#ref:").append(schema.getComponentName());
+            return;
+        }
+
+        // Un componente sin ciclos serializa igual desde cualquier endpoint: se reutiliza
+        boolean cacheable = schema.getComponentName() != null && !schema.isRecursive();
+        if (cacheable && componentCache.containsKey(schema)) {
+            sb.append(componentCache.get(schema));
+            return;
+        }
+
+        int start = sb.length();
+        visiting.add(schema);
+
+        sb.append('{');
+        if (schema.getComponentName() != null) {
+            sb.append("component=").append(schema.getComponentName()).append(',');
+        }
+        sb.append("type=").append(schema.getType())
+                .append(",format=").append(schema.getFormat())
+                .append(",pattern=").append(schema.getPattern())
+                .append(",minLength=").append(schema.getMinLength())
+                .append(",maxLength=").append(schema.getMaxLength())
+                .append(",minimum=").append(schema.getMinimum())
+                .append(",maximum=").append(schema.getMaximum())
+                .append(",example=").append(schema.getExample())
+                .append(",required=").append(schema.getRequired());
+
+        if (schema.getProperties() != null && !schema.getProperties().isEmpty()) {
+            sb.append(",properties=[");
+            for (String name : new TreeSet<>(schema.getProperties().keySet())) {
+                sb.append(name).append(':');
+                appendSchema(sb, schema.getProperties().get(name), visiting);
+                sb.append(';');
+            }
+            sb.append(']');
+        }
+        if (schema.getItems() != null) {
+            sb.append(",items=");
+            appendSchema(sb, schema.getItems(), visiting);
+        }
+        sb.append('}');
+
+        visiting.remove(schema);
+        if (cacheable) {
+            componentCache.put(schema, sb.substring(start));
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
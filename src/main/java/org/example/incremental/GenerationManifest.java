@@ -0,0 +1,53 @@
+package org.example.incremental;
+
+import org.example.generator.model.KarateScenario;
+
+import java.util.*;
+
+// Manifiesto JSON que acompaña al .feature: huella de cada endpoint y los escenarios
+// (ya enriquecidos) generados a partir de ella
+public class GenerationManifest {
+
+    private int version;
+    private String settings;
+    private Map<String, EndpointEntry> endpoints;
+
+    public GenerationManifest() {
+        this.endpoints = new LinkedHashMap<>();
+    }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public String getSettings() { return settings; }
+    public void setSettings(String settings) { this.settings = settings; }
+
+    public Map<String, EndpointEntry> getEndpoints() { return endpoints; }
+    public void setEndpoints(Map<String, EndpointEntry> endpoints) { this.endpoints = endpoints; }
+
+    public static class EndpointEntry {
+        private String fingerprint;
+        private boolean enriched;
+        private List<KarateScenario> scenarios;
+
+        public EndpointEntry() {
+            this.scenarios = new ArrayList<>();
+        }
+
+        public EndpointEntry(String fingerprint, boolean enriched, List<KarateScenario> scenarios) {
+            this.fingerprint = fingerprint;
+            this.enriched = enriched;
+            this.scenarios = scenarios;
+        }
+
+        public String getFingerprint() { return fingerprint; }
+        public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+        // false si la IA estaba activa pero no cambió ningún escenario (caída, circuito abierto...)
+        public boolean isEnriched() { return enriched; }
+        public void setEnriched(boolean enriched) { this.enriched = enriched; }
+
+        public List<KarateScenario> getScenarios() { return scenarios; }
+        public void setScenarios(List<KarateScenario> scenarios) { this.scenarios = scenarios; }
+    }
+}
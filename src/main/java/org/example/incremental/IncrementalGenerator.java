@@ -0,0 +1,205 @@
+package org.example.incremental;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.contract.model.ApiContract;
+import org.example.contract.model.Endpoint;
+import org.example.generator.ScenarioDeduplicator;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.example.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Regeneración incremental: solo los endpoints nuevos o cuya huella cambió pasan por el
+// generador y la IA; el resto recupera sus escenarios del manifiesto de la ejecución anterior
+public class IncrementalGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalGenerator.class);
+
+    // Subir al cambiar la salida de las estrategias para invalidar los manifiestos existentes
+    private static final int FORMAT_VERSION = 2;
+    private static final List<String> SETTINGS_KEYS = List.of(
+            "UseIA", "IA", "OllamaModel", "OllamaStream",
+            "IABatchSize", "IAReuseContext", "IAPromptCompaction", "IAPromptTokenBudget", "IAMaxPredictTokens",
+            "GenerateHappyPath", "GenerateValidations", "GenerateErrorCases", "GenerateEdgeCases",
+            "ScenarioDeduplication", "ScenarioOutlines", "DefaultTags");
+
+    private final Path manifestPath;
+    private final ObjectMapper mapper;
+
+    public IncrementalGenerator(String outputPath) {
+        this.manifestPath = manifestPathFor(outputPath);
+        this.mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    // generated-api.feature -> generated-api.manifest.json en el mismo directorio
+    public static Path manifestPathFor(String outputPath) {
+        Path output = Paths.get(outputPath);
+        String name = output.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return output.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".manifest.json");
+    }
+
+    public Path getManifestPath() {
+        return manifestPath;
+    }
+
+    public Plan plan(ApiContract contract) {
+        String settings = currentSettings();
+        boolean useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA", "false"));
+        GenerationManifest previous = load(settings);
+
+        EndpointFingerprint fingerprint = new EndpointFingerprint();
+        Plan plan = new Plan(settings, useIA);
+        for (Endpoint endpoint : contract.getEndpoints()) {
+            String key = key(endpoint);
+            String hash = fingerprint.of(endpoint);
+            GenerationManifest.EndpointEntry entry = previous.getEndpoints().get(key);
+
+            boolean reusable = entry != null
+                    && hash.equals(entry.getFingerprint())
+                    && (!useIA || entry.isEnriched());
+            plan.add(endpoint, key, hash, reusable ? entry.getScenarios() : null);
+        }
+
+        Set<String> currentKeys = new HashSet<>(plan.keys);
+        int removed = (int) previous.getEndpoints().keySet().stream()
+                .filter(key -> !currentKeys.contains(key))
+                .count();
+        LOGGER.info("♻️  Regeneración incremental: {} endpoints reutilizados, {} nuevos o modificados, {} eliminados",
+                plan.getReusedCount(), plan.getChanged().size(), removed);
+        return plan;
+    }
+
+    public void save(Plan plan) throws IOException {
+        GenerationManifest manifest = new GenerationManifest();
+        manifest.setVersion(FORMAT_VERSION);
+        manifest.setSettings(plan.settings);
+        for (int i = 0; i < plan.endpoints.size(); i++) {
+            manifest.getEndpoints().put(plan.keys.get(i), new GenerationManifest.EndpointEntry(
+                    plan.fingerprints.get(i), plan.enriched.get(i), plan.scenarios.get(i)));
+        }
+
+        Path parent = manifestPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        mapper.writeValue(manifestPath.toFile(), manifest);
+        LOGGER.debug("  ✓ Manifiesto actualizado: {}", manifestPath);
+    }
+
+    private GenerationManifest load(String settings) {
+        if (!Files.exists(manifestPath)) {
+            return new GenerationManifest();
+        }
+
+        try {
+            GenerationManifest manifest = mapper.readValue(manifestPath.toFile(), GenerationManifest.class);
+            if (manifest.getVersion() != FORMAT_VERSION || !settings.equals(manifest.getSettings())) {
+                LOGGER.info("♻️  Configuración distinta a la del manifiesto: se regenera todo");
+                return new GenerationManifest();
+            }
+            return manifest;
+        } catch (IOException e) {
+            LOGGER.warn("⚠️  Manifiesto ilegible, se regenera todo: {}", e.getMessage());
+            return new GenerationManifest();
+        }
+    }
+
+    private String currentSettings() {
+        return SETTINGS_KEYS.stream()
+                .map(key -> key + "=" + ConfigReader.getPropertyByKey(key, "").trim())
+                .collect(Collectors.joining(";"));
+    }
+
+    private static String key(Endpoint endpoint) {
+        return endpoint.getMethod() + " " + endpoint.getPath();
+    }
+
+    public static class Plan {
+        private final String settings;
+        private final boolean useIA;
+        private final List<Endpoint> endpoints = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> fingerprints = new ArrayList<>();
+        private final List<List<KarateScenario>> scenarios = new ArrayList<>();
+        private final List<Boolean> enriched = new ArrayList<>();
+        private final List<Integer> changed = new ArrayList<>();
+        private final Map<Integer, List<KarateScenario>> generated = new LinkedHashMap<>();
+
+        private Plan(String settings, boolean useIA) {
+            this.settings = settings;
+            this.useIA = useIA;
+        }
+
+        private void add(Endpoint endpoint, String key, String fingerprint, List<KarateScenario> reused) {
+            if (reused == null) {
+                changed.add(endpoints.size());
+            }
+            endpoints.add(endpoint);
+            keys.add(key);
+            fingerprints.add(fingerprint);
+            scenarios.add(reused);
+            enriched.add(reused != null && useIA);
+        }
+
+        public List<Endpoint> getChanged() {
+            return changed.stream().map(endpoints::get).toList();
+        }
+
+        public int getReusedCount() {
+            return endpoints.size() - changed.size();
+        }
+
+        // Escenarios base de los endpoints que hay que regenerar, en orden de endpoint
+        public List<KarateScenario> generate(ScenarioGenerator generator) {
+            return generate(generator, new ScenarioDeduplicator(ScenarioDeduplicator.Mode.NONE, 1, false));
+        }
+
+        // La deduplicación va por endpoint para que assemble() siga casando cada endpoint con su tramo
+        public List<KarateScenario> generate(ScenarioGenerator generator, ScenarioDeduplicator deduplicator) {
+            List<List<KarateScenario>> byEndpoint = deduplicator.deduplicateByEndpoint(
+                    generator.generateByEndpoint(getChanged()));
+            List<KarateScenario> fresh = new ArrayList<>();
+            for (int i = 0; i < changed.size(); i++) {
+                generated.put(changed.get(i), byEndpoint.get(i));
+                fresh.addAll(byEndpoint.get(i));
+            }
+            return fresh;
+        }
+
+        // Inserta los escenarios nuevos (sin enriquecer, mismo orden que generate()) entre los
+        // reutilizados y devuelve la lista completa en el orden del contrato
+        public List<KarateScenario> assemble(List<KarateScenario> fresh) {
+            return assemble(fresh, Collections.nCopies(fresh.size(), false));
+        }
+
+        // enriched: un flag por escenario de fresh (ScenarioEnricher.Result). Solo los endpoints
+        // con todos sus escenarios enriquecidos quedan como tales en el manifiesto; el resto
+        // (caída, circuito abierto, plazo agotado, respuesta ilegible) se reintenta la próxima vez
+        public List<KarateScenario> assemble(List<KarateScenario> fresh, List<Boolean> enriched) {
+            int offset = 0;
+            for (Map.Entry<Integer, List<KarateScenario>> entry : generated.entrySet()) {
+                int size = entry.getValue().size();
+                scenarios.set(entry.getKey(), new ArrayList<>(fresh.subList(offset, offset + size)));
+                this.enriched.set(entry.getKey(), useIA && !enriched.subList(offset, offset + size).contains(false));
+                offset += size;
+            }
+
+            List<KarateScenario> all = new ArrayList<>();
+            scenarios.forEach(all::addAll);
+            return all;
+        }
+    }
+}
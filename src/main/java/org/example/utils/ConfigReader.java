@@ -11,6 +11,9 @@ public class ConfigReader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigReader.class);
     private static final String CONFIG_FILE = "config.properties";
+    // Solo las propiedades de sistema con este prefijo (-Dconfig.Clave=valor) sobrescriben
+    // config.properties; el resto de propiedades de la JVM no afecta a la configuración
+    public static final String OVERRIDE_PREFIX = "config.";
     private static Properties properties;
 
     static {
@@ -36,7 +39,7 @@ public class ConfigReader {
     }
 
     public static String getPropertyByKey(String key) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(OVERRIDE_PREFIX + key, properties.getProperty(key));
 
         if (value == null) {
             LOGGER.warn("⚠️  Propiedad no encontrada: {}", key);
@@ -47,7 +50,7 @@ public class ConfigReader {
     }
 
     public static String getPropertyByKey(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(OVERRIDE_PREFIX + key, properties.getProperty(key, defaultValue));
     }
 
     public static class ConfigPropertyException extends RuntimeException {
@@ -1,24 +1,45 @@
 package org.example.writer;
 
+import org.example.generator.template.FeatureContent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
+import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class FeatureFileWriter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FeatureFileWriter.class);
 
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
     public void write(String content, String outputPath) throws IOException {
+        write(out -> out.append(content), outputPath);
+    }
+
+    // Si el destino ya existe, el contenido se renderiza primero solo para calcular su SHA-256 (sin
+    // tocar el disco) y, si coincide, no se reescribe (no cambia el mtime). Si no, se renderiza
+    // sobre un fichero temporal del mismo directorio con los permisos del fichero existente y se
+    // mueve atómicamente al destino, así nunca queda un .feature a medio escribir
+    public void write(FeatureContent content, String outputPath) throws IOException {
         LOGGER.info("📝 Escribiendo archivo: {}", outputPath);
 
-        Path path = Paths.get(outputPath);
+        Path path = Paths.get(outputPath).toAbsolutePath();
 
         // Crear directorios si no existen
         Path parentDir = path.getParent();
@@ -27,15 +48,145 @@ public class FeatureFileWriter {
             LOGGER.debug("  ✓ Directorios creados: {}", parentDir);
         }
 
-        // Escribir archivo
-        try (BufferedWriter writer = Files.newBufferedWriter(
-                path,
-                StandardCharsets.UTF_8,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING)) {
+        if (Files.isRegularFile(path) && sameContent(path, content)) {
+            skipped.incrementAndGet();
+            LOGGER.info("⏭️  Sin cambios, no se reescribe: {}", outputPath);
+            return;
+        }
+
+        Path temp = createTempFile(path);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                content.writeTo(writer);
+            }
 
-            writer.write(content);
+            moveIntoPlace(temp, path);
+            written.incrementAndGet();
             LOGGER.info("✅ Archivo escrito exitosamente: {}", outputPath);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public int getWritten() {
+        return written.get();
+    }
+
+    // Ficheros cuyo contenido no cambió
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    // Compara tamaño y SHA-256 del contenido renderizado con los del fichero existente
+    private boolean sameContent(Path path, FeatureContent content) throws IOException {
+        MessageDigest digest = sha256();
+        CountingOutputStream counter = new CountingOutputStream(
+                new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8))) {
+            content.writeTo(writer);
+        }
+        if (Files.size(path) != counter.count) {
+            return false;
+        }
+        byte[] hash = digest.digest();
+
+        MessageDigest existing = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), existing)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return MessageDigest.isEqual(hash, existing.digest());
+    }
+
+    // A diferencia de Files.createTempFile (siempre 0600), el temporal se crea con los permisos
+    // por defecto (umask) y, si el destino existe, se le copian los suyos para conservarlos al moverlo
+    private Path createTempFile(Path path) throws IOException {
+        Path temp;
+        while (true) {
+            temp = path.resolveSibling("." + path.getFileName() + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp");
+            try {
+                Files.createFile(temp);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Nombre en uso por otra escritura: se prueba con otro
+            }
+        }
+
+        if (Files.exists(path)) {
+            try {
+                Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(path));
+            } catch (UnsupportedOperationException e) {
+                // Sistema de ficheros sin permisos POSIX
+            }
+        }
+        return temp;
+    }
+
+    private void moveIntoPlace(Path temp, Path path) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOGGER.debug("  Movimiento atómico no soportado, reemplazando: {}", path);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // Escribe varios ficheros (shards) a la vez; falla si alguno no se pudo escribir
+    public void writeAll(Map<String, FeatureContent> contentByPath) throws IOException {
+        if (contentByPath.size() == 1) {
+            Map.Entry<String, FeatureContent> single = contentByPath.entrySet().iterator().next();
+            write(single.getValue(), single.getKey());
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(contentByPath.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            contentByPath.forEach((outputPath, content) -> writes.add(CompletableFuture.runAsync(() -> {
+                try {
+                    write(content, outputPath);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor)));
+
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.example.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void createContracts() throws IOException {
+        dir = Files.createTempDirectory("contracts");
+        touch("users.yml");
+        touch("orders.YAML");
+        touch("notes.txt");
+        touch("billing/invoices.yaml");
+        touch("billing/old/refunds.yaml");
+        touch("billing/readme.md");
+    }
+
+    @Test
+    void directoryListsItsOwnContractsSorted() throws IOException {
+        assertEquals(List.of(dir.resolve("orders.YAML"), dir.resolve("users.yml")),
+                BatchRunner.findContracts(dir.toString()));
+    }
+
+    @Test
+    void globWalksSubdirectories() throws IOException {
+        assertEquals(List.of(dir.resolve("billing/invoices.yaml"), dir.resolve("billing/old/refunds.yaml")),
+                BatchRunner.findContracts(dir + "/billing/**.yaml"));
+        assertEquals(List.of(dir.resolve("billing/old/refunds.yaml")),
+                BatchRunner.findContracts(dir + "/**/old/*.yaml"));
+    }
+
+    @Test
+    void globOnlyMatchesTheGivenPattern() throws IOException {
+        assertEquals(List.of(dir.resolve("users.yml")), BatchRunner.findContracts(dir + "/*.yml"));
+        assertEquals(List.of(dir.resolve("notes.txt")), BatchRunner.findContracts(dir + "/*.txt"));
+    }
+
+    @Test
+    void missingDirectoryFails() {
+        assertThrows(NoSuchFileException.class, () -> BatchRunner.findContracts(dir.resolve("missing").toString()));
+        assertThrows(NoSuchFileException.class, () -> BatchRunner.findContracts(dir + "/missing/*.yml"));
+    }
+
+    private void touch(String name) throws IOException {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "openapi: 3.0.0\n");
+    }
+}
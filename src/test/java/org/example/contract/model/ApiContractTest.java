@@ -0,0 +1,70 @@
+package org.example.contract.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiContractTest {
+
+    @Test
+    void findsEndpointsByOperationIdAndRoute() {
+        ApiContract contract = new ApiContract();
+        Endpoint list = endpoint("listUsers", HttpMethod.GET, "/users");
+        Endpoint create = endpoint("createUser", HttpMethod.POST, "/users");
+        contract.addEndpoint(list);
+        contract.addEndpoint(create);
+
+        assertSame(create, contract.getEndpointByOperationId("createUser"));
+        assertSame(list, contract.getEndpoint(HttpMethod.GET, "/users"));
+        assertNull(contract.getEndpointByOperationId("missing"));
+        assertNull(contract.getEndpointByOperationId(null));
+        assertNull(contract.getEndpoint(HttpMethod.DELETE, "/users"));
+    }
+
+    @Test
+    void firstDuplicateWins() {
+        ApiContract contract = new ApiContract();
+        Endpoint first = endpoint("getUser", HttpMethod.GET, "/users/{id}");
+        contract.addEndpoint(first);
+        contract.addEndpoint(endpoint("getUser", HttpMethod.GET, "/users/{id}"));
+
+        assertSame(first, contract.getEndpointByOperationId("getUser"));
+        assertSame(first, contract.getEndpoint(HttpMethod.GET, "/users/{id}"));
+    }
+
+    @Test
+    void setEndpointsRebuildsTheIndexes() {
+        ApiContract contract = new ApiContract();
+        contract.addEndpoint(endpoint("old", HttpMethod.GET, "/old"));
+        List<Endpoint> endpoints = new ArrayList<>(List.of(endpoint("new", HttpMethod.GET, "/new")));
+
+        contract.setEndpoints(endpoints);
+        endpoints.add(endpoint("late", HttpMethod.GET, "/late"));
+
+        assertNull(contract.getEndpointByOperationId("old"));
+        assertNotNull(contract.getEndpointByOperationId("new"));
+        assertEquals(1, contract.getEndpoints().size());
+    }
+
+    @Test
+    void endpointListIsReadOnly() {
+        ApiContract contract = new ApiContract();
+        contract.addEndpoint(endpoint("listUsers", HttpMethod.GET, "/users"));
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> contract.getEndpoints().add(endpoint("x", HttpMethod.GET, "/x")));
+        assertThrows(UnsupportedOperationException.class, () -> contract.getEndpoints().remove(0));
+        assertEquals(1, contract.getEndpoints().size());
+    }
+
+    private static Endpoint endpoint(String operationId, HttpMethod method, String path) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setOperationId(operationId);
+        endpoint.setMethod(method);
+        endpoint.setPath(path);
+        return endpoint;
+    }
+}
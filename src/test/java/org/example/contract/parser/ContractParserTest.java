@@ -0,0 +1,63 @@
+package org.example.contract.parser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.contract.model.ApiContract;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractParserTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    @Test
+    void blankNameSelectsTheDefaultParser() {
+        assertSame(ContractParser.forName(ContractParser.DEFAULT).getClass(), ContractParser.forName(null).getClass());
+        assertSame(ContractParser.forName(ContractParser.DEFAULT).getClass(), ContractParser.forName("  ").getClass());
+    }
+
+    @Test
+    void namesAreCaseInsensitive() {
+        assertTrue(ContractParser.forName(" Streaming ") instanceof StreamingContractParser);
+        assertTrue(ContractParser.forName("TREE") instanceof YamlContractParser);
+    }
+
+    @Test
+    void rejectsUnknownParser() {
+        assertThrows(IllegalArgumentException.class, () -> ContractParser.forName("dom"));
+    }
+
+    @Test
+    void bothParsersBuildTheSameContract() throws IOException {
+        ApiContract tree = ContractParser.forName("tree").parse(CONTRACT);
+        ApiContract streaming = ContractParser.forName("streaming").parse(CONTRACT);
+
+        assertFalse(tree.getEndpoints().isEmpty());
+        assertEquals(toJson(tree), toJson(streaming));
+    }
+
+    @Test
+    void bothParsersGenerateTheSameScenarios() throws IOException {
+        List<KarateScenario> tree = new ScenarioGenerator().generateAll(ContractParser.forName("tree").parse(CONTRACT));
+        List<KarateScenario> streaming =
+                new ScenarioGenerator().generateAll(ContractParser.forName("streaming").parse(CONTRACT));
+
+        assertEquals(tree.size(), streaming.size());
+        for (int i = 0; i < tree.size(); i++) {
+            assertEquals(tree.get(i).toKarateString(), streaming.get(i).toKarateString());
+        }
+    }
+
+    private static JsonNode toJson(ApiContract contract) {
+        return MAPPER.valueToTree(contract);
+    }
+}
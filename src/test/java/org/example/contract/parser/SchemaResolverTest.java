@@ -0,0 +1,125 @@
+package org.example.contract.parser;
+
+import org.example.contract.model.Schema;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaResolverTest {
+
+    private static final String PREFIX = "#/components/schemas/";
+
+    private final SchemaResolver resolver = new SchemaResolver();
+
+    @Test
+    void sharesOneInstancePerComponent() {
+        Schema first = resolver.resolve(PREFIX + "User");
+        Schema defined = resolver.define("User");
+
+        assertSame(first, defined);
+        assertSame(defined, resolver.resolve(PREFIX + "User"));
+        assertEquals("User", defined.getComponentName());
+    }
+
+    @Test
+    void marksSelfReferenceAsRecursive() {
+        // Node { children: [Node] }
+        Schema node = object(resolver.define("Node"));
+        node.addProperty("children", arrayOf(resolver.resolve(PREFIX + "Node")));
+
+        resolver.finish();
+
+        assertTrue(node.isRecursive());
+    }
+
+    @Test
+    void marksEveryComponentOfAnIndirectCycle() {
+        // A -> B -> C -> A
+        Schema a = object(resolver.define("A"));
+        Schema b = object(resolver.define("B"));
+        Schema c = object(resolver.define("C"));
+        a.addProperty("b", resolver.resolve(PREFIX + "B"));
+        b.addProperty("c", resolver.resolve(PREFIX + "C"));
+        c.addProperty("a", resolver.resolve(PREFIX + "A"));
+
+        resolver.finish();
+
+        assertTrue(a.isRecursive());
+        assertTrue(b.isRecursive());
+        assertTrue(c.isRecursive());
+    }
+
+    @Test
+    void leavesComponentsOutsideTheCycleUnmarked() {
+        // Order -> Customer -> Address; Category <-> Category (solo ella es recursiva)
+        Schema order = object(resolver.define("Order"));
+        Schema customer = object(resolver.define("Customer"));
+        Schema address = object(resolver.define("Address"));
+        Schema category = object(resolver.define("Category"));
+        order.addProperty("customer", resolver.resolve(PREFIX + "Customer"));
+        order.addProperty("category", resolver.resolve(PREFIX + "Category"));
+        customer.addProperty("address", resolver.resolve(PREFIX + "Address"));
+        category.addProperty("parent", resolver.resolve(PREFIX + "Category"));
+
+        resolver.finish();
+
+        assertFalse(order.isRecursive());
+        assertFalse(customer.isRecursive());
+        assertFalse(address.isRecursive());
+        assertTrue(category.isRecursive());
+    }
+
+    @Test
+    void sharedComponentWithoutCycleIsNotRecursive() {
+        // Dos caminos hacia Address no forman un ciclo
+        Schema customer = object(resolver.define("Customer"));
+        Schema address = object(resolver.define("Address"));
+        customer.addProperty("billing", resolver.resolve(PREFIX + "Address"));
+        customer.addProperty("shipping", resolver.resolve(PREFIX + "Address"));
+
+        resolver.finish();
+
+        assertFalse(customer.isRecursive());
+        assertFalse(address.isRecursive());
+    }
+
+    @Test
+    void inlineSchemasInsideACycleAreNotMarked() {
+        // Tree { node: { inline, children: [Tree] } }
+        Schema tree = object(resolver.define("Tree"));
+        Schema inline = object(new Schema());
+        inline.addProperty("children", arrayOf(resolver.resolve(PREFIX + "Tree")));
+        tree.addProperty("node", inline);
+
+        resolver.finish();
+
+        assertTrue(tree.isRecursive());
+        assertFalse(inline.isRecursive());
+    }
+
+    @Test
+    void finishRunsDeferredActionsOnceDefined() {
+        String[] type = new String[1];
+        resolver.whenResolved(PREFIX + "Id", schema -> type[0] = schema.getType());
+        resolver.define("Id").setType("string");
+
+        Map<String, Schema> components = resolver.finish();
+
+        assertEquals("string", type[0]);
+        assertTrue(components.containsKey("Id"));
+    }
+
+    private static Schema object(Schema schema) {
+        schema.setType("object");
+        return schema;
+    }
+
+    private static Schema arrayOf(Schema items) {
+        Schema array = new Schema();
+        array.setType("array");
+        array.setItems(items);
+        return array;
+    }
+}
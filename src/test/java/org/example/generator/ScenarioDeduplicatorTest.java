@@ -0,0 +1,148 @@
+package org.example.generator;
+
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioDeduplicatorTest {
+
+    @Test
+    void whitespaceDifferencesAreDuplicates() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario b = scenario("b", "  Given   path 'users' ", "When\tmethod GET", "Then status  200");
+
+        assertEquals(ScenarioDeduplicator.key(a), ScenarioDeduplicator.key(b));
+    }
+
+    @Test
+    void stepOrderMatters() {
+        KarateScenario a = scenario("a", "Given path 'users'", "And path 'admin'", "When method GET", "Then status 200");
+        KarateScenario b = scenario("b", "Given path 'admin'", "And path 'users'", "When method GET", "Then status 200");
+
+        assertNotEquals(ScenarioDeduplicator.key(a), ScenarioDeduplicator.key(b));
+    }
+
+    @Test
+    void differentStatusIsNotDuplicate() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario b = scenario("b", "Given path 'users'", "When method GET", "Then status 404");
+
+        assertNotEquals(ScenarioDeduplicator.key(a), ScenarioDeduplicator.key(b));
+    }
+
+    @Test
+    void outlinesWithDifferentExamplesAreNotDuplicates() {
+        KarateScenario a = scenario("a", "Given path 'users'", "And request { name: <name> }", "When method POST");
+        KarateScenario b = scenario("b", "Given path 'users'", "And request { name: <name> }", "When method POST");
+        a.addExample(Map.of("name", "''"));
+        b.addExample(Map.of("name", "null"));
+
+        assertNotEquals(ScenarioDeduplicator.key(a), ScenarioDeduplicator.key(b));
+
+        b.getExamples().set(0, Map.of("name", "''"));
+        assertEquals(ScenarioDeduplicator.key(a), ScenarioDeduplicator.key(b));
+    }
+
+    @Test
+    void dropKeepsFirstOccurrence() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario b = scenario("b", "Given path 'users'", "When method GET", "Then status 404");
+        KarateScenario c = scenario("c", "Given  path 'users'", "When method GET", "Then status 200");
+        a.addTag("@happy");
+        c.addTag("@edge");
+
+        ScenarioDeduplicator deduplicator = new ScenarioDeduplicator(ScenarioDeduplicator.Mode.DROP, 1, true);
+        List<KarateScenario> result = deduplicator.deduplicate(List.of(a, b, c));
+
+        assertEquals(List.of(a, b), result);
+        assertEquals(List.of("@happy"), a.getTags());
+        assertEquals(1, deduplicator.getDuplicates());
+        assertEquals(1, deduplicator.getAvoidedCalls());
+    }
+
+    @Test
+    void mergeAddsMissingTagsToFirstOccurrence() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario c = scenario("c", "Given path 'users'", "When method GET", "Then status 200");
+        a.addTag("@happy");
+        c.addTag("@happy");
+        c.addTag("@edge");
+
+        List<KarateScenario> result = new ScenarioDeduplicator(ScenarioDeduplicator.Mode.MERGE, 1, false)
+                .deduplicate(List.of(a, c));
+
+        assertEquals(1, result.size());
+        assertEquals(List.of("@happy", "@edge"), result.get(0).getTags());
+        assertEquals(a.toKarateString().replace("@happy ", "@happy @edge "), result.get(0).toKarateString());
+    }
+
+    @Test
+    void mergeLeavesInputScenariosUntouched() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario c = scenario("c", "Given path 'users'", "When method GET", "Then status 200");
+        a.addTag("@happy");
+        c.addTag("@edge");
+
+        List<KarateScenario> result = new ScenarioDeduplicator(ScenarioDeduplicator.Mode.MERGE, 1, false)
+                .deduplicate(List.of(a, c));
+
+        assertNotSame(a, result.get(0));
+        assertEquals(List.of("@happy"), a.getTags());
+        assertEquals(List.of("@edge"), c.getTags());
+    }
+
+    @Test
+    void mergeWithoutNewTagsKeepsTheFirstInstance() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario c = scenario("c", "Given path 'users'", "When method GET", "Then status 200");
+        a.addTag("@happy");
+        c.addTag("@happy");
+
+        List<KarateScenario> result = new ScenarioDeduplicator(ScenarioDeduplicator.Mode.MERGE, 1, false)
+                .deduplicate(List.of(a, c));
+
+        assertEquals(1, result.size());
+        assertSame(a, result.get(0));
+    }
+
+    @Test
+    void noneLeavesTheListUntouched() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario b = scenario("b", "Given path 'users'", "When method GET", "Then status 200");
+        List<KarateScenario> scenarios = List.of(a, b);
+
+        ScenarioDeduplicator deduplicator = new ScenarioDeduplicator(ScenarioDeduplicator.Mode.NONE, 1, true);
+
+        assertSame(scenarios, deduplicator.deduplicate(scenarios));
+        assertEquals(0, deduplicator.getDuplicates());
+    }
+
+    @Test
+    void avoidedCallsCountBatchesPerOperation() {
+        KarateScenario a = scenario("a", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario b = scenario("b", "Given path 'users'", "When method GET", "Then status 200");
+        KarateScenario c = scenario("c", "Given path 'users'", "When method GET", "Then status 404");
+        KarateScenario d = scenario("d", "Given path 'users'", "When method GET", "Then status 404");
+
+        ScenarioDeduplicator deduplicator = new ScenarioDeduplicator(ScenarioDeduplicator.Mode.DROP, 2, true);
+        deduplicator.deduplicate(List.of(a, b, c, d));
+
+        // 4 escenarios en lotes de 2 -> 2 peticiones; tras deduplicar quedan 2 -> 1 petición
+        assertEquals(2, deduplicator.getDuplicates());
+        assertEquals(1, deduplicator.getAvoidedCalls());
+    }
+
+    private static KarateScenario scenario(String name, String... steps) {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName(name);
+        scenario.setOperationId("listUsers");
+        for (String step : steps) {
+            scenario.addStep(step);
+        }
+        return scenario;
+    }
+}
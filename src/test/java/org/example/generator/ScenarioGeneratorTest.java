@@ -0,0 +1,98 @@
+package org.example.generator;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.model.Endpoint;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioGeneratorTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+
+    @Test
+    void parallelAndSerialGenerateTheSameScenariosInTheSameOrder() throws IOException {
+        ApiContract contract = contract();
+
+        List<String> serial = karate(serial().generateAll(contract));
+        List<String> parallel = karate(parallel().generateAll(contract));
+
+        assertFalse(serial.isEmpty());
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    void parallelKeepsOrderOnLargeContracts() throws IOException {
+        // El contrato de ejemplo repetido, para que haya más unidades que hilos
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            endpoints.addAll(contract().getEndpoints());
+        }
+
+        List<String> serial = karate(serial().generateAll(endpoints));
+        for (int run = 0; run < 5; run++) {
+            assertEquals(serial, karate(parallel().generateAll(endpoints)));
+        }
+    }
+
+    @Test
+    void byEndpointMatchesEndpointByEndpointGeneration() throws IOException {
+        List<Endpoint> endpoints = contract().getEndpoints();
+
+        List<List<KarateScenario>> byEndpoint = parallel().generateByEndpoint(endpoints);
+
+        assertEquals(endpoints.size(), byEndpoint.size());
+        for (int i = 0; i < endpoints.size(); i++) {
+            assertEquals(karate(serial().generate(endpoints.get(i))), karate(byEndpoint.get(i)));
+        }
+    }
+
+    @Test
+    void parallelRunsInsideTheCallersPool() throws Exception {
+        ApiContract contract = contract();
+        List<String> serial = karate(serial().generateAll(contract));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(serial, pool.submit(() -> karate(parallel().generateAll(contract))).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void belowTheThresholdStaysSerial() throws IOException {
+        ScenarioGenerator generator = parallel();
+        generator.setParallelThreshold(Integer.MAX_VALUE);
+
+        assertEquals(karate(serial().generateAll(contract())), karate(generator.generateAll(contract())));
+    }
+
+    private static ScenarioGenerator serial() {
+        ScenarioGenerator generator = new ScenarioGenerator();
+        generator.setParallel(false);
+        return generator;
+    }
+
+    private static ScenarioGenerator parallel() {
+        ScenarioGenerator generator = new ScenarioGenerator();
+        generator.setParallel(true);
+        generator.setParallelThreshold(0);
+        return generator;
+    }
+
+    private static ApiContract contract() throws IOException {
+        return ContractParser.forName(ContractParser.DEFAULT).parse(CONTRACT);
+    }
+
+    private static List<String> karate(List<KarateScenario> scenarios) {
+        return scenarios.stream().map(KarateScenario::toKarateString).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.generator.model;
+
+import org.example.contract.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledEndpointTest {
+
+    @Test
+    void partitionsParametersByLocation() {
+        Endpoint endpoint = endpoint(HttpMethod.GET, "/users/{id}");
+        Parameter id = parameter("id", "path");
+        Parameter page = parameter("page", "query");
+        Parameter auth = parameter("authorization", "header");
+        Parameter cookie = parameter("session", "cookie");
+        List.of(id, page, auth, cookie).forEach(endpoint::addParameter);
+
+        CompiledEndpoint compiled = CompiledEndpoint.of(endpoint);
+
+        assertEquals(List.of(id), compiled.getPathParams());
+        assertEquals(List.of(page), compiled.getQueryParams());
+        assertEquals(List.of(auth), compiled.getHeaderParams());
+        assertEquals(List.of(id, page, auth, cookie), compiled.getParameters());
+        assertTrue(compiled.needsAuth());
+    }
+
+    @Test
+    void matchesTheEndpointPartitions() {
+        Endpoint endpoint = endpoint(HttpMethod.GET, "/users");
+        endpoint.addParameter(parameter("page", "query"));
+        endpoint.addParameter(parameter("X-Trace", "header"));
+
+        CompiledEndpoint compiled = CompiledEndpoint.of(endpoint);
+
+        assertEquals(endpoint.getPathParams(), compiled.getPathParams());
+        assertEquals(endpoint.getQueryParams(), compiled.getQueryParams());
+        assertEquals(endpoint.getHeaderParams(), compiled.getHeaderParams());
+        assertEquals(endpoint.needsAuth(), compiled.needsAuth());
+        assertFalse(compiled.needsAuth());
+    }
+
+    @Test
+    void successResponsePrefers200Then201Then204() {
+        Endpoint endpoint = endpoint(HttpMethod.POST, "/users");
+        endpoint.addResponse(204, new Response(204, "No Content", null));
+        endpoint.addResponse(201, new Response(201, "Created", null));
+        assertEquals(201, CompiledEndpoint.of(endpoint).getSuccessResponse().getStatusCode());
+
+        endpoint.addResponse(200, new Response(200, "OK", null));
+        assertEquals(200, CompiledEndpoint.of(endpoint).getSuccessResponse().getStatusCode());
+
+        assertNull(CompiledEndpoint.of(endpoint(HttpMethod.GET, "/x")).getSuccessResponse());
+    }
+
+    @Test
+    void errorResponsesKeepTheEndpointOrder() {
+        Endpoint endpoint = endpoint(HttpMethod.POST, "/users");
+        endpoint.addResponse(201, new Response(201, "Created", null));
+        endpoint.addResponse(409, new Response(409, "Conflict", null));
+        endpoint.addResponse(302, new Response(302, "Found", null));
+        endpoint.addResponse(400, new Response(400, "Bad Request", null));
+
+        List<Integer> expected = endpoint.getResponses().values().stream()
+                .map(Response::getStatusCode).filter(code -> code >= 400).toList();
+        assertEquals(expected, CompiledEndpoint.of(endpoint).getErrorResponses().stream()
+                .map(Response::getStatusCode).toList());
+        assertEquals(2, expected.size());
+    }
+
+    @Test
+    void precomputesTheCommonSteps() {
+        CompiledEndpoint compiled = CompiledEndpoint.of(endpoint(HttpMethod.DELETE, "/users/{id}"));
+
+        assertEquals("Given url baseUrl + '/users/{id}'", compiled.getUrlStep());
+        assertEquals("When method DELETE", compiled.getMethodStep());
+        assertNull(compiled.getBodyTemplate());
+    }
+
+    @Test
+    void sharedSchemasCompileOnce() {
+        Schema user = new Schema();
+        user.setType("object");
+        Schema name = new Schema();
+        name.setType("string");
+        user.addProperty("name", name);
+        Endpoint create = endpoint(HttpMethod.POST, "/users");
+        create.setRequestBody(user);
+        Endpoint update = endpoint(HttpMethod.PUT, "/users/{id}");
+        update.setRequestBody(user);
+
+        Map<Schema, RequestBodyTemplate> templates = new IdentityHashMap<>();
+        CompiledEndpoint first = CompiledEndpoint.of(create, templates);
+        CompiledEndpoint second = CompiledEndpoint.of(update, templates);
+
+        assertSame(first.getBodyTemplate(), second.getBodyTemplate());
+        assertNotSame(first.getBodyTemplate(), CompiledEndpoint.of(update).getBodyTemplate());
+        assertEquals(1, templates.size());
+    }
+
+    @Test
+    void partitionsAreReadOnly() {
+        Endpoint endpoint = endpoint(HttpMethod.GET, "/users");
+        endpoint.addParameter(parameter("page", "query"));
+        CompiledEndpoint compiled = CompiledEndpoint.of(endpoint);
+
+        assertThrows(UnsupportedOperationException.class, () -> compiled.getQueryParams().clear());
+        assertThrows(UnsupportedOperationException.class, () -> compiled.getParameters().clear());
+    }
+
+    private static Endpoint endpoint(HttpMethod method, String path) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setMethod(method);
+        endpoint.setPath(path);
+        return endpoint;
+    }
+
+    private static Parameter parameter(String name, String in) {
+        Parameter parameter = new Parameter();
+        parameter.setName(name);
+        parameter.setIn(in);
+        parameter.setType("string");
+        return parameter;
+    }
+}
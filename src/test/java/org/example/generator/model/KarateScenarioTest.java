@@ -0,0 +1,90 @@
+package org.example.generator.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KarateScenarioTest {
+
+    @Test
+    void plainScenarioHasNoExamples() {
+        KarateScenario scenario = scenario();
+
+        assertEquals("  @validation \n"
+                + "  Scenario: Validar <field>\n"
+                + "    * remove requestBody.<field>\n"
+                + "    Then status 400\n", scenario.toKarateString());
+    }
+
+    @Test
+    void outlineRendersAlignedExamplesTable() {
+        KarateScenario scenario = scenario();
+        scenario.addExample(row("field", "name", "case", "vacío"));
+        scenario.addExample(row("field", "description", "case", "nulo"));
+
+        assertEquals("  @validation \n"
+                + "  Scenario Outline: Validar <field>\n"
+                + "    * remove requestBody.<field>\n"
+                + "    Then status 400\n"
+                + "\n"
+                + "    Examples:\n"
+                + "      | field       | case  |\n"
+                + "      | name        | vacío |\n"
+                + "      | description | nulo  |\n", scenario.toKarateString());
+    }
+
+    @Test
+    void cellsEscapePipesBackslashesAndNewlines() {
+        KarateScenario scenario = scenario();
+        scenario.addExample(row("value", "a|b"));
+        scenario.addExample(row("value", "c\\d"));
+        scenario.addExample(row("value", "e\nf"));
+
+        assertTrue(scenario.toKarateString().endsWith("    Examples:\n"
+                + "      | value |\n"
+                + "      | a\\|b  |\n"
+                + "      | c\\\\d  |\n"
+                + "      | e\\nf  |\n"));
+    }
+
+    @Test
+    void missingCellsRenderEmpty() {
+        KarateScenario scenario = scenario();
+        scenario.addExample(row("field", "name", "case", "vacío"));
+        scenario.addExample(row("field", "age"));
+
+        assertTrue(scenario.toKarateString().endsWith("      | age   |       |\n"));
+    }
+
+    @Test
+    void appendToMatchesToKarateString() throws Exception {
+        KarateScenario scenario = scenario();
+        scenario.addExample(row("field", "name"));
+        scenario.addExample(row("field", "email"));
+        StringBuilder out = new StringBuilder();
+
+        scenario.appendTo(out);
+
+        assertEquals(scenario.toKarateString(), out.toString());
+    }
+
+    private static KarateScenario scenario() {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName("Validar <field>");
+        scenario.addTag("@validation");
+        scenario.addStep("* remove requestBody.<field>");
+        scenario.addStep("Then status 400");
+        return scenario;
+    }
+
+    private static Map<String, String> row(String... columnsAndValues) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < columnsAndValues.length; i += 2) {
+            row.put(columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.generator.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.contract.model.Schema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestBodyTemplateTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void defaultsFollowTheSchemaTypes() throws IOException {
+        Schema user = user();
+        JsonNode body = json(RequestBodyTemplate.compile(user).defaults());
+
+        assertEquals("test-value", body.get("name").asText());
+        assertEquals("user@example.com", body.get("email").asText());
+        assertEquals(123, body.get("age").asInt());
+        assertTrue(body.get("active").asBoolean());
+        assertEquals("test-value", body.get("tags").get(0).asText());
+        assertEquals("test-value", body.get("address").get("city").asText());
+        assertEquals(List.copyOf(user.getProperties().keySet()), fieldNames(body));
+    }
+
+    @Test
+    void validPrefersTheSchemaExample() throws IOException {
+        Schema schema = user();
+        schema.setExample(Map.of("name", "Ana"));
+        RequestBodyTemplate template = RequestBodyTemplate.compile(schema);
+
+        assertEquals("Ana", json(template.valid()).get("name").asText());
+        assertEquals(6, json(template.defaults()).size());
+    }
+
+    @Test
+    void propertyExamplesReplaceTheDefaults() throws IOException {
+        Schema schema = user();
+        schema.getProperties().get("age").setExample(42);
+
+        assertEquals(42, json(RequestBodyTemplate.compile(schema).defaults()).get("age").asInt());
+    }
+
+    @Test
+    void variantsOnlyTouchTheirSlot() throws IOException {
+        RequestBodyTemplate template = RequestBodyTemplate.compile(user());
+
+        JsonNode without = json(template.without("email"));
+        JsonNode empty = json(template.withEmpty("name"));
+        JsonNode with = json(template.with("age", "-1"));
+
+        assertFalse(without.has("email"));
+        assertEquals(5, without.size());
+        assertEquals("", empty.get("name").asText());
+        assertEquals(-1, with.get("age").asInt());
+        assertEquals(json(template.defaults()).get("email"), with.get("email"));
+    }
+
+    @Test
+    void firstAndLastSlotsStayValidJson() throws IOException {
+        RequestBodyTemplate template = RequestBodyTemplate.compile(user());
+
+        assertFalse(json(template.without("name")).has("name"));
+        assertFalse(json(template.without("address")).has("address"));
+    }
+
+    @Test
+    void unknownFieldsFallBackToTheValidBody() {
+        RequestBodyTemplate template = RequestBodyTemplate.compile(user());
+
+        assertFalse(template.hasSlot("missing"));
+        assertEquals(template.defaults(), template.without("missing"));
+        assertEquals(template.defaults(), template.with("missing", "1"));
+    }
+
+    @Test
+    void recursiveSchemasStop() throws IOException {
+        Schema node = new Schema();
+        node.setType("object");
+        node.setRecursive(true);
+        node.addProperty("name", type("string"));
+        node.addProperty("parent", node);
+        Schema children = type("array");
+        children.setItems(node);
+        node.addProperty("children", children);
+
+        JsonNode body = json(RequestBodyTemplate.compile(node).defaults());
+
+        assertEquals("{}", body.get("parent").toString());
+        assertEquals("[]", body.get("children").toString());
+    }
+
+    @Test
+    void bodyIsADocString() {
+        String body = RequestBodyTemplate.compile(user()).defaults();
+
+        assertTrue(body.startsWith("\n    \"\"\"\n    {\n      \""));
+        assertTrue(body.endsWith("\n    }\n    \"\"\""));
+    }
+
+    private static Schema user() {
+        Schema address = type("object");
+        address.addProperty("city", type("string"));
+        Schema tags = type("array");
+        tags.setItems(type("string"));
+        Schema email = type("string");
+        email.setFormat("email");
+
+        Schema user = type("object");
+        user.addProperty("name", type("string"));
+        user.addProperty("email", email);
+        user.addProperty("age", type("integer"));
+        user.addProperty("active", type("boolean"));
+        user.addProperty("tags", tags);
+        user.addProperty("address", address);
+        return user;
+    }
+
+    private static Schema type(String type) {
+        Schema schema = new Schema();
+        schema.setType(type);
+        return schema;
+    }
+
+    // Quita las comillas triples del docstring de Karate
+    private static JsonNode json(String body) throws IOException {
+        return MAPPER.readTree(body.replace("\"\"\"", ""));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.generator.strategy;
+
+import org.example.contract.model.Endpoint;
+import org.example.contract.model.HttpMethod;
+import org.example.contract.model.Schema;
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutlinesTest {
+
+    @Test
+    void onlyJsIdentifiersAreAddressable() {
+        assertTrue(Outlines.isAddressable("name"));
+        assertTrue(Outlines.isAddressable("_id"));
+        assertTrue(Outlines.isAddressable("$ref2"));
+        assertFalse(Outlines.isAddressable("first-name"));
+        assertFalse(Outlines.isAddressable("2fa"));
+        assertFalse(Outlines.isAddressable("a.b"));
+        assertFalse(Outlines.isAddressable(""));
+        assertFalse(Outlines.isAddressable(null));
+    }
+
+    @Test
+    void rowKeepsColumnOrder() {
+        Map<String, String> row = Outlines.row("field", "name", "case", "vacío", "status", "400");
+
+        assertEquals(List.of("field", "case", "status"), new ArrayList<>(row.keySet()));
+        assertEquals("400", row.get("status"));
+    }
+
+    @Test
+    void rowIgnoresTrailingColumnWithoutValue() {
+        assertEquals(Map.of("field", "name"), Outlines.row("field", "name", "case"));
+    }
+
+    @Test
+    void validationGroupsAddressableFieldsIntoOneOutline() {
+        List<KarateScenario> scenarios = new ValidationStrategy(true).generateScenarios(endpoint());
+
+        List<KarateScenario> missing = scenarios.stream()
+                .filter(s -> s.getSteps().contains("* remove requestBody.<field>"))
+                .toList();
+        assertEquals(1, missing.size());
+        assertEquals(List.of(Map.of("field", "name"), Map.of("field", "email")), missing.get(0).getExamples());
+        assertTrue(missing.get(0).toKarateString().contains("Scenario Outline:"));
+
+        // El campo no direccionable sigue como escenario suelto
+        assertTrue(scenarios.stream().anyMatch(s -> !s.hasExamples() && s.getName().contains("first-name")));
+    }
+
+    @Test
+    void validationWithoutOutlinesKeepsOneScenarioPerField() {
+        List<KarateScenario> scenarios = new ValidationStrategy(false).generateScenarios(endpoint());
+
+        assertTrue(scenarios.stream().noneMatch(KarateScenario::hasExamples));
+        assertEquals(3, scenarios.stream().filter(s -> s.getName().contains("falta el campo")).count());
+    }
+
+    private static Endpoint endpoint() {
+        Map<String, Schema> properties = new LinkedHashMap<>();
+        for (String field : List.of("name", "email", "first-name")) {
+            Schema property = new Schema();
+            property.setType("string");
+            properties.put(field, property);
+        }
+
+        Schema body = new Schema();
+        body.setType("object");
+        body.setProperties(properties);
+        body.setRequired(new ArrayList<>(List.of("name", "email", "first-name")));
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setOperationId("createUser");
+        endpoint.setPath("/users");
+        endpoint.setMethod(HttpMethod.POST);
+        endpoint.setRequestBody(body);
+        return endpoint;
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.generator.template;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.model.Endpoint;
+import org.example.contract.model.HttpMethod;
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureSharderTest {
+
+    private final ApiContract contract = new ApiContract();
+    private final List<KarateScenario> scenarios = new ArrayList<>();
+
+    @Test
+    void tagModeGroupsByFirstTag() {
+        endpoint("listUsers", "/users", 2, "Users", "Admin");
+        endpoint("listOrders", "/orders", 1, "Sales Orders");
+        endpoint("getUser", "/users/{id}", 1, "Users");
+        endpoint("health", "/health", 1);
+
+        Map<String, List<KarateScenario>> shards = new FeatureSharder(FeatureSharder.Mode.TAG, 4)
+                .shard(contract, scenarios);
+
+        assertEquals(List.of("users", "sales-orders", "default"), new ArrayList<>(shards.keySet()));
+        assertEquals(List.of("listUsers", "listUsers", "getUser"), operationIds(shards.get("users")));
+        assertEquals(List.of("health"), operationIds(shards.get("default")));
+    }
+
+    @Test
+    void pathModeGroupsByFirstLiteralSegment() {
+        endpoint("getUser", "/{tenant}/users/{id}", 1);
+        endpoint("listOrders", "/orders", 2);
+        endpoint("createUser", "/users", 1);
+        endpoint("root", "/", 1);
+
+        Map<String, List<KarateScenario>> shards = new FeatureSharder(FeatureSharder.Mode.PATH, 4)
+                .shard(contract, scenarios);
+
+        assertEquals(List.of("users", "orders", "default"), new ArrayList<>(shards.keySet()));
+        assertEquals(List.of("getUser", "createUser"), operationIds(shards.get("users")));
+    }
+
+    @Test
+    void countModeBalancesWithoutSplittingEndpoints() {
+        endpoint("a", "/a", 6);
+        endpoint("b", "/b", 3);
+        endpoint("c", "/c", 3);
+        endpoint("d", "/d", 2);
+        endpoint("e", "/e", 1);
+
+        Map<String, List<KarateScenario>> shards = new FeatureSharder(FeatureSharder.Mode.COUNT, 2)
+                .shard(contract, scenarios);
+
+        assertEquals(2, shards.size());
+        assertEquals(List.of("a", "a", "a", "a", "a", "a", "d", "d"), operationIds(shards.get("shard-1")));
+        // Dentro de cada shard se conserva el orden del contrato
+        assertEquals(List.of("b", "b", "b", "c", "c", "c", "e"), operationIds(shards.get("shard-2")));
+    }
+
+    @Test
+    void countModeNeverCreatesMoreShardsThanEndpoints() {
+        endpoint("a", "/a", 2);
+        endpoint("b", "/b", 1);
+
+        Map<String, List<KarateScenario>> shards = new FeatureSharder(FeatureSharder.Mode.COUNT, 8)
+                .shard(contract, scenarios);
+
+        assertEquals(List.of("shard-1", "shard-2"), new ArrayList<>(shards.keySet()));
+    }
+
+    @Test
+    void everyScenarioLandsInExactlyOneShard() {
+        for (int i = 0; i < 20; i++) {
+            endpoint("op" + i, "/r" + (i % 3) + "/x", 1 + i % 4, "t" + (i % 5));
+        }
+
+        for (FeatureSharder.Mode mode : List.of(FeatureSharder.Mode.TAG, FeatureSharder.Mode.PATH,
+                FeatureSharder.Mode.COUNT)) {
+            List<KarateScenario> all = new ArrayList<>();
+            new FeatureSharder(mode, 3).shard(contract, scenarios).values().forEach(all::addAll);
+
+            assertEquals(scenarios.size(), all.size(), mode.name());
+            Set<KarateScenario> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            distinct.addAll(all);
+            assertEquals(scenarios.size(), distinct.size(), mode.name());
+            assertTrue(distinct.containsAll(scenarios), mode.name());
+        }
+    }
+
+    @Test
+    void withoutShardingRendersASingleFeature() {
+        endpoint("a", "/a", 1);
+
+        Map<String, FeatureContent> features = new FeatureSharder(FeatureSharder.Mode.NONE, 4)
+                .render(new KarateTemplateEngine(), contract, scenarios, "out/generated-api.feature");
+
+        assertEquals(Set.of("out/generated-api.feature"), features.keySet());
+    }
+
+    @Test
+    void shardsAreWrittenNextToOutputPath() {
+        endpoint("a", "/a", 1, "Users");
+
+        Map<String, FeatureContent> features = new FeatureSharder(FeatureSharder.Mode.TAG, 4)
+                .render(new KarateTemplateEngine(), contract, scenarios, "out/generated-api.feature");
+
+        assertEquals(Set.of(Paths.get("out", "generated-api", "users.feature").toString()), features.keySet());
+    }
+
+    @Test
+    void removesOnlyStaleShards() throws IOException {
+        Path dir = Files.createTempDirectory("shards");
+        String outputPath = dir.resolve("generated-api.feature").toString();
+        Path shardDir = FeatureSharder.shardDirectory(outputPath);
+        Files.createDirectories(shardDir);
+        Path current = Files.writeString(shardDir.resolve("users.feature"), shard("users"));
+        Path stale = Files.writeString(shardDir.resolve("orders.feature"), shard("orders"));
+        Path other = Files.writeString(shardDir.resolve("notes.txt"), "");
+
+        new FeatureSharder(FeatureSharder.Mode.TAG, 4).removeStaleShards(outputPath, List.of(current.toString()));
+
+        assertTrue(Files.exists(current));
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(other));
+    }
+
+    @Test
+    void keepsHandWrittenFeaturesInTheShardDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("shards");
+        String outputPath = dir.resolve("api.feature").toString();
+        Path shardDir = FeatureSharder.shardDirectory(outputPath);
+        Files.createDirectories(shardDir);
+        Path handWritten = Files.writeString(shardDir.resolve("login.feature"),
+                "@manual\nFeature: Login\n\n  Scenario: ok\n    * print 'hola'\n");
+        Path binary = Files.write(shardDir.resolve("legacy.feature"), new byte[]{(byte) 0xC3, (byte) 0x28, '\n'});
+
+        new FeatureSharder(FeatureSharder.Mode.TAG, 4).removeStaleShards(outputPath, List.of());
+
+        assertTrue(Files.exists(handWritten));
+        assertTrue(Files.exists(binary));
+    }
+
+    @Test
+    void renderedShardsStartWithTheMarker() {
+        endpoint("a", "/a", 1, "Users");
+        contract.setTitle("Users API");
+
+        String feature = new KarateTemplateEngine().generateFeature(contract, scenarios, "users");
+
+        assertTrue(feature.startsWith(KarateTemplateEngine.SHARD_MARKER + "\n@users-api @users\n"));
+        assertFalse(new KarateTemplateEngine().generateFeature(contract, scenarios)
+                .contains(KarateTemplateEngine.SHARD_MARKER));
+    }
+
+    private void endpoint(String operationId, String path, int scenarioCount, String... tags) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setOperationId(operationId);
+        endpoint.setPath(path);
+        endpoint.setMethod(HttpMethod.GET);
+        for (String tag : tags) {
+            endpoint.addTag(tag);
+        }
+        contract.addEndpoint(endpoint);
+
+        for (int i = 0; i < scenarioCount; i++) {
+            KarateScenario scenario = new KarateScenario();
+            scenario.setName(operationId + " " + i);
+            scenario.setOperationId(operationId);
+            scenarios.add(scenario);
+        }
+    }
+
+    private String shard(String name) {
+        contract.setTitle("API");
+        return new KarateTemplateEngine().generateFeature(contract, List.of(), name);
+    }
+
+    private static List<String> operationIds(List<KarateScenario> scenarios) {
+        return scenarios.stream().map(KarateScenario::getOperationId).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.generator.template;
+
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KarateTemplateEngineTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+
+    @Test
+    void writerOutputMatchesTheRenderedString() throws IOException {
+        ApiContract contract = ContractParser.forName(ContractParser.DEFAULT).parse(CONTRACT);
+        List<KarateScenario> scenarios = new ScenarioGenerator().generateAll(contract);
+        KarateTemplateEngine engine = new KarateTemplateEngine();
+
+        StringWriter feature = new StringWriter();
+        engine.writeFeature(contract, scenarios, feature);
+        StringWriter shard = new StringWriter();
+        engine.writeFeature(contract, scenarios, "users", shard);
+
+        assertEquals(engine.generateFeature(contract, scenarios), feature.toString());
+        assertEquals(engine.generateFeature(contract, scenarios, "users"), shard.toString());
+    }
+
+    @Test
+    void scenariosAreWrittenInOrderAfterTheBackground() {
+        ApiContract contract = contract();
+        String feature = new KarateTemplateEngine().generateFeature(contract,
+                List.of(scenario("Primero"), scenario("Segundo")));
+
+        assertTrue(feature.startsWith("@users-api\nFeature: Users API\n  Gestión de usuarios\n\n  Background:\n"));
+        assertTrue(feature.contains("    * def baseUrl = 'http://localhost:8080'\n"));
+        int background = feature.indexOf("Background:");
+        int first = feature.indexOf("Scenario: Primero");
+        int second = feature.indexOf("Scenario: Segundo");
+        assertTrue(background < first && first < second);
+    }
+
+    @Test
+    void shardHeaderCarriesTheShardTag() {
+        String feature = new KarateTemplateEngine().generateFeature(contract(), List.of(scenario("Uno")), "Admin Users");
+
+        assertTrue(feature.contains("\n@users-api @admin-users\nFeature: Users API - Admin Users\n"));
+    }
+
+    @Test
+    void featureWithoutDescriptionSkipsTheLine() {
+        ApiContract contract = contract();
+        contract.setDescription(null);
+
+        String feature = new KarateTemplateEngine().generateFeature(contract, List.of());
+
+        assertTrue(feature.startsWith("@users-api\nFeature: Users API\n\n  Background:\n"));
+    }
+
+    private static ApiContract contract() {
+        ApiContract contract = new ApiContract();
+        contract.setTitle("Users API");
+        contract.setDescription("Gestión de usuarios");
+        contract.setBaseUrl("http://localhost:8080");
+        return contract;
+    }
+
+    private static KarateScenario scenario(String name) {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName(name);
+        scenario.addStep("Given path '/users'");
+        scenario.addStep("When method get");
+        scenario.addStep("Then status 200");
+        return scenario;
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.ia;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    @Test
+    void staysClosedBelowThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_MILLIS);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_MILLIS);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void opensAfterThresholdAndRejects() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(2, breaker.getRejected());
+    }
+
+    @Test
+    void halfOpenLetsOnlyOneProbeThrough() throws InterruptedException {
+        CircuitBreaker breaker = openedBreaker();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void successfulProbeClosesCircuit() throws InterruptedException {
+        CircuitBreaker breaker = openedBreaker();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopensCircuit() throws InterruptedException {
+        CircuitBreaker breaker = openedBreaker();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void thresholdBelowOneOpensOnFirstFailure() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 0, 60_000);
+
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void releasedProbeLetsTheNextOneThrough() throws InterruptedException {
+        CircuitBreaker breaker = openedBreaker();
+        Thread.sleep(OPEN_MILLIS * 2);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void releaseKeepsClosedCircuitClosed() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MILLIS);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private CircuitBreaker openedBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MILLIS);
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.ia;
+
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrichmentSchedulerTest {
+
+    private static final List<String> DEFAULT_TAGS =
+            Arrays.asList(ScenarioEnricher.Settings.DEFAULT_PRIORITY_TAGS.split(","));
+
+    @Test
+    void defaultPriorityPutsSmokeAndHappyPathFirst() {
+        List<KarateScenario> scenarios = List.of(
+                scenario("@edgeCase", "@regression"),
+                scenario("@validation"),
+                scenario("@error"),
+                scenario("@smoke", "@happyPath"),
+                scenario("@regression"));
+        List<List<Integer>> batches = List.of(List.of(0), List.of(1), List.of(2), List.of(3), List.of(4));
+
+        List<Integer> order = new EnrichmentScheduler(DEFAULT_TAGS, 0).order(batches, scenarios);
+
+        assertEquals(List.of(3, 2, 1, 0, 4), order);
+    }
+
+    @Test
+    void batchTakesTheBestRankOfItsScenariosAndTiesKeepListOrder() {
+        List<KarateScenario> scenarios = List.of(
+                scenario("@edgeCase"), scenario("@error"), scenario("@edgeCase"), scenario("@smoke"));
+        List<List<Integer>> batches = List.of(List.of(0), List.of(1), List.of(2, 3));
+
+        List<Integer> order = new EnrichmentScheduler(DEFAULT_TAGS, 0).order(batches, scenarios);
+
+        assertEquals(List.of(2, 1, 0), order);
+    }
+
+    @Test
+    void withoutTagsKeepsGenerationOrder() {
+        List<KarateScenario> scenarios = List.of(scenario("@edgeCase"), scenario("@smoke"));
+
+        List<Integer> order = new EnrichmentScheduler(List.of(), 0)
+                .order(List.of(List.of(0), List.of(1)), scenarios);
+
+        assertEquals(List.of(0, 1), order);
+    }
+
+    @Test
+    void deadlineExpires() throws InterruptedException {
+        EnrichmentScheduler scheduler = new EnrichmentScheduler(DEFAULT_TAGS, 20);
+        EnrichmentScheduler unlimited = new EnrichmentScheduler(DEFAULT_TAGS, 0);
+
+        assertTrue(scheduler.hasDeadline());
+        Thread.sleep(40);
+
+        assertTrue(scheduler.isExpired());
+        assertEquals(0, scheduler.remainingNanos());
+        assertFalse(unlimited.hasDeadline());
+        assertFalse(unlimited.isExpired());
+        assertEquals(Long.MAX_VALUE, unlimited.remainingNanos());
+    }
+
+    private static KarateScenario scenario(String... tags) {
+        KarateScenario scenario = new KarateScenario();
+        for (String tag : tags) {
+            scenario.addTag(tag);
+        }
+        return scenario;
+    }
+}
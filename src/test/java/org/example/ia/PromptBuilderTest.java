@@ -0,0 +1,120 @@
+package org.example.ia;
+
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptBuilderTest {
+
+    private final PromptBuilder promptBuilder = new PromptBuilder();
+
+    @Test
+    void splitsSectionsByMarker() {
+        String content = """
+                ### ESCENARIO 1 ###
+                Scenario: uno
+                Given url baseUrl
+                ### ESCENARIO 2 ###
+                Scenario: dos
+                When method get
+                """;
+
+        List<String> sections = promptBuilder.splitBatchResponse(content, 2);
+
+        assertEquals(2, sections.size());
+        assertTrue(sections.get(0).contains("Scenario: uno"));
+        assertFalse(sections.get(0).contains("Scenario: dos"));
+        assertTrue(sections.get(1).contains("Scenario: dos"));
+    }
+
+    @Test
+    void ignoresTextBeforeTheFirstMarker() {
+        String content = "Aquí tienes los escenarios mejorados:\n### ESCENARIO 1 ###\nScenario: uno\n";
+
+        List<String> sections = promptBuilder.splitBatchResponse(content, 1);
+
+        assertFalse(sections.get(0).contains("Aquí tienes"));
+        assertTrue(sections.get(0).contains("Scenario: uno"));
+    }
+
+    @Test
+    void acceptsMarkerVariants() {
+        String content = "  ## ESCENARIO 1\nScenario: uno\n####   ESCENARIO   2   ####  \nScenario: dos\n";
+
+        List<String> sections = promptBuilder.splitBatchResponse(content, 2);
+
+        assertTrue(sections.get(0).contains("Scenario: uno"));
+        assertTrue(sections.get(1).contains("Scenario: dos"));
+    }
+
+    @Test
+    void placesSectionsByMarkerNumber() {
+        String content = "### ESCENARIO 2 ###\nScenario: dos\n### ESCENARIO 1 ###\nScenario: uno\n";
+
+        List<String> sections = promptBuilder.splitBatchResponse(content, 2);
+
+        assertTrue(sections.get(0).contains("Scenario: uno"));
+        assertTrue(sections.get(1).contains("Scenario: dos"));
+    }
+
+    @Test
+    void leavesMissingSectionsAsNull() {
+        String content = "### ESCENARIO 1 ###\nScenario: uno\n### ESCENARIO 3 ###\nScenario: tres\n";
+
+        List<String> sections = promptBuilder.splitBatchResponse(content, 3);
+
+        assertNotNull(sections.get(0));
+        assertNull(sections.get(1));
+        assertNotNull(sections.get(2));
+    }
+
+    @Test
+    void ignoresOutOfRangeAndRepeatedMarkers() {
+        String content = """
+                ### ESCENARIO 1 ###
+                Scenario: uno
+                ### ESCENARIO 1 ###
+                Scenario: repetido
+                ### ESCENARIO 5 ###
+                Scenario: cinco
+                """;
+
+        List<String> sections = promptBuilder.splitBatchResponse(content, 2);
+
+        assertEquals(2, sections.size());
+        assertTrue(sections.get(0).contains("Scenario: uno"));
+        assertFalse(sections.get(0).contains("repetido"));
+        assertNull(sections.get(1));
+    }
+
+    @Test
+    void returnsOnlyNullsWithoutMarkers() {
+        List<String> sections = promptBuilder.splitBatchResponse("Scenario: sin marcador\n", 2);
+
+        assertEquals(2, sections.size());
+        assertNull(sections.get(0));
+        assertNull(sections.get(1));
+    }
+
+    @Test
+    void batchScenarioPromptLeavesEndpointToTheSystemPrompt() {
+        List<KarateScenario> scenarios = List.of(scenario("uno"), scenario("dos"));
+
+        String prompt = promptBuilder.buildBatchScenarioPrompt(scenarios);
+
+        assertFalse(prompt.contains("ENDPOINT:"));
+        assertTrue(prompt.contains("### ESCENARIO 1 ###\n  Scenario: uno"));
+        assertTrue(prompt.contains("### ESCENARIO 2 ###\n  Scenario: dos"));
+        assertEquals(2, promptBuilder.splitBatchResponse(prompt, 2).stream().filter(s -> s != null).count());
+    }
+
+    private static KarateScenario scenario(String name) {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName(name);
+        scenario.addStep("When method get");
+        return scenario;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.ia;
+
+import org.example.generator.model.KarateScenario;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptCompactorTest {
+
+    private static final String BODY = "* def requestBody = \n    \"\"\"\n    {\n"
+            + "      \"name\": \"Ana\",\n      \"email\": \"\",\n      \"age\": 30\n    }\n    \"\"\"";
+    private static final Function<List<KarateScenario>, String> PROMPT = scenarios -> {
+        StringBuilder sb = new StringBuilder("ESCENARIOS BASE:\n");
+        scenarios.forEach(scenario -> sb.append(scenario.toKarateString()).append("\n"));
+        return sb.toString();
+    };
+
+    @Test
+    void keepsOnlyTheFieldsTheScenarioTouches() {
+        KarateScenario scenario = scenario("Campo email vacío", "And match response.message contains 'email'");
+
+        PromptCompactor.Result result = new PromptCompactor(10_000, 4096).compact(List.of(scenario), PROMPT);
+
+        assertTrue(result.getPrompt().contains("\"email\""));
+        assertFalse(result.getPrompt().contains("\"name\""));
+        assertFalse(result.getPrompt().contains("\"age\""));
+        assertTrue(result.getPrompt().contains("      ..."));
+        assertTrue(result.getSavedTokens() > 0);
+    }
+
+    @Test
+    void scenariosWithoutConcreteFieldsKeepTheWholeBody() {
+        KarateScenario scenario = scenario("Crear usuario", "Then status 201");
+
+        PromptCompactor.Result result = new PromptCompactor(10_000, 4096).compact(List.of(scenario), PROMPT);
+
+        assertEquals(PROMPT.apply(List.of(scenario)), result.getPrompt());
+        assertEquals(0, result.getSavedTokens());
+    }
+
+    @Test
+    void outlineFieldsComeFromTheExamplesTable() {
+        KarateScenario scenario = scenario("Campo <field> vacío", "* remove requestBody.<field>");
+        scenario.setExamples(List.of(Map.of("field", "name"), Map.of("field", "age")));
+
+        String prompt = new PromptCompactor(10_000, 4096).compact(List.of(scenario), PROMPT).getPrompt();
+
+        assertTrue(prompt.contains("\"name\""));
+        assertTrue(prompt.contains("\"age\""));
+        assertFalse(prompt.contains("\"email\""));
+    }
+
+    @Test
+    void elidesBodiesOverTheTokenBudget() {
+        KarateScenario scenario = scenario("Crear usuario", "Then status 201");
+
+        PromptCompactor.Result result = new PromptCompactor(10, 4096).compact(List.of(scenario), PROMPT);
+
+        assertTrue(result.getPrompt().contains("{ ... }"));
+        assertFalse(result.getPrompt().contains("\"name\""));
+        assertTrue(result.getPrompt().contains("* def requestBody = "));
+        assertTrue(result.getTokens() < result.getOriginalTokens());
+    }
+
+    @Test
+    void inputScenariosAreNotModified() {
+        KarateScenario scenario = scenario("Campo email vacío", "And match response.message contains 'email'");
+        String before = scenario.toKarateString();
+
+        new PromptCompactor(10, 4096).compact(List.of(scenario), PROMPT);
+
+        assertEquals(before, scenario.toKarateString());
+    }
+
+    @Test
+    void predictionIsCappedByMaxPredictTokens() {
+        List<KarateScenario> scenarios = List.of(
+                scenario("Crear usuario", "Then status 201"), scenario("Crear otro", "Then status 201"));
+
+        assertEquals(256, new PromptCompactor(10_000, 256).compact(scenarios, PROMPT).getNumPredict());
+        assertTrue(new PromptCompactor(10_000, 100_000).compact(scenarios, PROMPT).getNumPredict() >= 256);
+    }
+
+    @Test
+    void estimatesAboutFourCharactersPerToken() {
+        PromptCompactor compactor = new PromptCompactor(0, 0);
+
+        assertEquals(0, compactor.estimateTokens(""));
+        assertEquals(1, compactor.estimateTokens("abcd"));
+        assertEquals(2, compactor.estimateTokens("abcde"));
+    }
+
+    private static KarateScenario scenario(String name, String assertion) {
+        KarateScenario scenario = new KarateScenario();
+        scenario.setName(name);
+        scenario.addStep(BODY);
+        scenario.addStep("Given path '/users'");
+        scenario.addStep("And request requestBody");
+        scenario.addStep("When method post");
+        scenario.addStep(assertion);
+        return scenario;
+    }
+}
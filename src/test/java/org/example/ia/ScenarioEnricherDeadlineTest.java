@@ -0,0 +1,76 @@
+package org.example.ia;
+
+import org.example.bench.FakeOllamaServer;
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.example.ia.mistral.OllamaClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioEnricherDeadlineTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+
+    private static FakeOllamaServer server;
+
+    @BeforeAll
+    static void startSlowServer() throws IOException {
+        // Cada petición tarda un minuto: solo el plazo puede terminar el enriquecimiento
+        server = new FakeOllamaServer(0, 42L);
+        server.setLatency(FakeOllamaServer.LatencyDistribution.fixed(60_000));
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void returnsBaseScenariosWhenDeadlineExpiresConcurrently() throws IOException {
+        assertCutAtDeadline(4);
+    }
+
+    @Test
+    void returnsBaseScenariosWhenDeadlineExpiresSequentially() throws IOException {
+        assertCutAtDeadline(1);
+    }
+
+    private void assertCutAtDeadline(int concurrency) throws IOException {
+        ApiContract contract = ContractParser.forName("tree").parse(CONTRACT);
+        List<KarateScenario> base = new ScenarioGenerator().generateAll(contract);
+        ScenarioEnricher enricher = new ScenarioEnricher(settings(concurrency), new OllamaClient(server.getUri()));
+
+        long start = System.nanoTime();
+        ScenarioEnricher.Result result = enricher.enrichWithStatus(base, contract);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 5_000, "El enriquecimiento debe terminar al vencer el plazo: " + elapsedMillis + " ms");
+        assertEquals(base.size(), result.getScenarios().size());
+        for (int i = 0; i < base.size(); i++) {
+            assertSame(base.get(i), result.getScenarios().get(i));
+            assertFalse(result.getEnriched().get(i));
+        }
+        assertEquals(base.size(), enricher.getSkippedByDeadline());
+    }
+
+    private static ScenarioEnricher.Settings settings(int concurrency) {
+        ScenarioEnricher.Settings settings = new ScenarioEnricher.Settings();
+        settings.provider = "Mistral";
+        settings.useIA = true;
+        settings.concurrency = concurrency;
+        settings.batchSize = 1;
+        settings.priorityTags = List.of();
+        settings.deadlineMillis = 1_000;
+        return settings;
+    }
+}
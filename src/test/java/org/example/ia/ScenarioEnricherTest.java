@@ -0,0 +1,101 @@
+package org.example.ia;
+
+import org.example.bench.FakeOllamaServer;
+import org.example.contract.model.ApiContract;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.example.ia.mistral.OllamaClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioEnricherTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+
+    private static FakeOllamaServer server;
+    private static ApiContract contract;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        server = new FakeOllamaServer(0, 11L).start();
+        contract = ContractParser.forName("tree").parse(CONTRACT);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void concurrentEnrichmentKeepsInputOrder() {
+        List<KarateScenario> base = new ScenarioGenerator().generateAll(contract);
+
+        List<KarateScenario> sequential = enricher(settings(1, 1, false)).enrich(base, contract);
+        List<KarateScenario> concurrent = enricher(settings(4, 1, false)).enrich(base, contract);
+
+        assertEquals(base.size(), concurrent.size());
+        for (int i = 0; i < base.size(); i++) {
+            assertNotSame(base.get(i), concurrent.get(i));
+            assertEquals(sequential.get(i).toKarateString(), concurrent.get(i).toKarateString());
+        }
+    }
+
+
+    @Test
+    void disabledIAReturnsTheBaseScenarios() {
+        List<KarateScenario> base = new ScenarioGenerator().generateAll(contract);
+        ScenarioEnricher.Settings settings = settings(4, 1, false);
+        settings.useIA = false;
+
+        ScenarioEnricher.Result result = enricher(settings).enrichWithStatus(base, contract);
+
+        assertEquals(base, result.getScenarios());
+        assertFalse(result.getEnriched().contains(true));
+    }
+
+    @Test
+    void batchesReuseTheEndpointSystemPrompt() {
+        List<KarateScenario> base = new ScenarioGenerator().generateAll(contract);
+        ScenarioEnricher enricher = enricher(settings(1, 3, true));
+
+        ScenarioEnricher.Result result = enricher.enrichWithStatus(base, contract);
+
+        assertFalse(result.getEnriched().contains(false));
+        // Solo las peticiones con system prompt alimentan las métricas de prefill
+        assertTrue(enricher.getPrefillStats().getRequests() > 0);
+        assertTrue(enricher.getPrefillStats().getRequests() < base.size());
+    }
+
+    @Test
+    void batchesWithoutReuseSendNoSystemPrompt() {
+        List<KarateScenario> base = new ScenarioGenerator().generateAll(contract);
+        ScenarioEnricher enricher = enricher(settings(1, 3, false));
+
+        ScenarioEnricher.Result result = enricher.enrichWithStatus(base, contract);
+
+        assertFalse(result.getEnriched().contains(false));
+        assertEquals(0, enricher.getPrefillStats().getRequests());
+    }
+
+    private static ScenarioEnricher enricher(ScenarioEnricher.Settings settings) {
+        return new ScenarioEnricher(settings, new OllamaClient(server.getUri()));
+    }
+
+    private static ScenarioEnricher.Settings settings(int concurrency, int batchSize, boolean reuseContext) {
+        ScenarioEnricher.Settings settings = new ScenarioEnricher.Settings();
+        settings.provider = "Mistral";
+        settings.useIA = true;
+        settings.concurrency = concurrency;
+        settings.batchSize = batchSize;
+        settings.reuseContext = reuseContext;
+        settings.priorityTags = List.of();
+        return settings;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.ia.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrichmentCacheTest {
+
+    private static final String MODEL = "mistral:7b";
+
+    private Path dir;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        dir = Files.createTempDirectory("ia-cache");
+    }
+
+    @Test
+    void keyDependsOnModelOptionsAndPrompt() {
+        EnrichmentCache cache = new EnrichmentCache(dir, 1024);
+        String key = cache.key(MODEL, Map.of("temperature", 0.2, "num_predict", 512), "prompt");
+
+        assertEquals(key, cache.key(MODEL, Map.of("num_predict", 512, "temperature", 0.2), "prompt"));
+        assertNotEquals(key, cache.key("llama3", Map.of("temperature", 0.2, "num_predict", 512), "prompt"));
+        assertNotEquals(key, cache.key(MODEL, Map.of("temperature", 0.3, "num_predict", 512), "prompt"));
+        assertNotEquals(key, cache.key(MODEL, Map.of("temperature", 0.2, "num_predict", 512), "otro prompt"));
+    }
+
+    @Test
+    void storesAndReadsEntries() {
+        EnrichmentCache cache = new EnrichmentCache(dir, 1024);
+
+        assertEquals(Optional.empty(), cache.get(MODEL, "a"));
+        cache.put(MODEL, "a", "Scenario: á");
+
+        assertEquals(Optional.of("Scenario: á"), cache.get(MODEL, "a"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void entriesSurviveARestart() {
+        new EnrichmentCache(dir, 1024).put(MODEL, "a", "Scenario: a");
+
+        EnrichmentCache reopened = new EnrichmentCache(dir, 1024);
+
+        assertEquals(1, reopened.getSize());
+        assertEquals(Optional.of("Scenario: a"), reopened.get(MODEL, "a"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        EnrichmentCache cache = new EnrichmentCache(dir, 25);
+        cache.put(MODEL, "a", "0123456789");
+        cache.put(MODEL, "b", "0123456789");
+        cache.get(MODEL, "a");
+
+        cache.put(MODEL, "c", "0123456789");
+
+        assertEquals(2, cache.getSize());
+        assertTrue(cache.get(MODEL, "a").isPresent());
+        assertTrue(cache.get(MODEL, "b").isEmpty());
+        assertTrue(cache.get(MODEL, "c").isPresent());
+        assertFalse(Files.exists(dir.resolve("mistral_7b").resolve("b.txt")));
+    }
+
+    @Test
+    void overwritingAnEntryDoesNotCountItTwice() {
+        EnrichmentCache cache = new EnrichmentCache(dir, 25);
+        cache.put(MODEL, "a", "0123456789");
+        cache.put(MODEL, "a", "0123456789");
+        cache.put(MODEL, "b", "0123456789");
+
+        assertEquals(2, cache.getSize());
+        assertTrue(cache.get(MODEL, "a").isPresent());
+    }
+
+    @Test
+    void invalidatesOnlyTheGivenModel() {
+        EnrichmentCache cache = new EnrichmentCache(dir, 1024);
+        cache.put(MODEL, "a", "a");
+        cache.put(MODEL, "b", "b");
+        cache.put("llama3", "a", "a");
+
+        assertEquals(2, cache.invalidateModel(MODEL));
+
+        assertEquals(1, cache.getSize());
+        assertTrue(cache.get(MODEL, "a").isEmpty());
+        assertTrue(cache.get("llama3", "a").isPresent());
+    }
+
+    @Test
+    void removesOrphanTempFilesOnStartup() throws IOException {
+        Path modelDir = Files.createDirectories(dir.resolve("mistral_7b"));
+        Path orphan = Files.writeString(modelDir.resolve("a123.tmp"), "Scenario: a medias");
+        Files.writeString(modelDir.resolve("b.txt"), "Scenario: b");
+
+        EnrichmentCache cache = new EnrichmentCache(dir, 1024);
+
+        assertFalse(Files.exists(orphan));
+        assertEquals(1, cache.getSize());
+        assertEquals(Optional.of("Scenario: b"), cache.get(MODEL, "b"));
+    }
+
+    @Test
+    void writesLeaveNoTempFiles() throws IOException {
+        EnrichmentCache cache = new EnrichmentCache(dir, 1024);
+        for (int i = 0; i < 10; i++) {
+            cache.put(MODEL, "k" + i, "Scenario " + i);
+        }
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertTrue(files.noneMatch(p -> p.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void vanishedFileCountsAsMiss() throws IOException {
+        EnrichmentCache cache = new EnrichmentCache(dir, 1024);
+        cache.put(MODEL, "a", "a");
+        Files.delete(dir.resolve("mistral_7b").resolve("a.txt"));
+
+        assertTrue(cache.get(MODEL, "a").isEmpty());
+        assertEquals(0, cache.getSize());
+        assertEquals(1, cache.getMisses());
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.ia.mistral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.bench.FakeOllamaServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OllamaClientTest {
+
+    private static final Map<String, Object> BODY = Map.of("model", "mistral", "prompt", "Scenario: x");
+
+    private FakeOllamaServer server;
+    private OllamaClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new FakeOllamaServer(0, 7L);
+        server.setLatency(FakeOllamaServer.LatencyDistribution.fixed(10));
+        server.start();
+        client = new OllamaClient(server.getUri());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void generateReturnsTheParsedResponse() {
+        JsonNode json = client.generateAsync(
+                Map.of("model", "mistral", "prompt", "ESCENARIO BASE:\nScenario: x\nTAREA:\n")).join();
+
+        assertTrue(json.path("done").asBoolean());
+        assertTrue(json.path("response").asText().startsWith("Scenario: x"));
+    }
+
+    @Test
+    void concurrentRequestsShareTheClient() {
+        List<CompletableFuture<JsonNode>> calls = IntStream.range(0, 32)
+                .mapToObj(i -> client.generateAsync(
+                        Map.of("model", "mistral", "prompt", "ESCENARIO BASE:\nScenario: " + i + "\nTAREA:\n")))
+                .toList();
+
+        for (int i = 0; i < calls.size(); i++) {
+            assertTrue(calls.get(i).join().path("response").asText().startsWith("Scenario: " + i + "\n"));
+        }
+        assertEquals(32, server.getLatencies().size());
+    }
+
+    @Test
+    void serverErrorsFailTheCall() {
+        server.setErrorRate(1.0);
+
+        CompletionException error = assertThrows(CompletionException.class, () -> client.generateAsync(BODY).join());
+
+        assertTrue(error.getCause() instanceof UncheckedIOException);
+        assertTrue(error.getCause().getCause() instanceof OllamaClient.OllamaException);
+        assertTrue(error.getCause().getMessage().contains("500"));
+    }
+
+    @Test
+    void streamingServerErrorsFailTheCall() {
+        server.setErrorRate(1.0);
+
+        assertThrows(CompletionException.class, () -> client.generateStreamingAsync(
+                Map.of("model", "mistral", "prompt", "x", "stream", true)).join());
+    }
+
+    @Test
+    void unreachableServerFailsTheCall() {
+        server.close();
+
+        assertThrows(CompletionException.class, () -> client.generateAsync(BODY).join());
+    }
+
+    @Test
+    void streamingStopsAfterTheFirstScenario() {
+        String prompt = "ESCENARIOS BASE:\n### ESCENARIO 1 ###\nScenario: uno\n  Given path '/a'\n"
+                + "### ESCENARIO 2 ###\nScenario: dos\n  Given path '/b'\nTAREA:\n";
+
+        JsonNode json = client.generateStreamingAsync(Map.of("model", "mistral", "prompt", prompt, "stream", true))
+                .join();
+
+        String response = json.path("response").asText();
+        assertTrue(response.contains("Scenario: uno"));
+        assertFalse(response.contains("Scenario: dos"));
+    }
+
+    @Test
+    void streamingReturnsTheFinalMetrics() {
+        JsonNode json = client.generateStreamingAsync(
+                Map.of("model", "mistral", "prompt", "ESCENARIO BASE:\nScenario: x\n  Given path '/x'\nTAREA:\n",
+                        "stream", true)).join();
+
+        assertTrue(json.path("response").asText().contains("And match response == '#present'"));
+        assertTrue(json.path("prompt_eval_count").asLong() > 0);
+    }
+
+    @Test
+    void completedCallsReleaseTheirDeadlineTimer() {
+        long deadline = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+
+        for (int i = 0; i < 5; i++) {
+            JsonNode json = client.generateAsync(BODY, deadline).join();
+            assertTrue(json.hasNonNull("response"));
+        }
+        JsonNode streamed = client.generateStreamingAsync(Map.of("model", "mistral", "prompt", "x", "stream", true),
+                deadline).join();
+        assertTrue(streamed.hasNonNull("response"));
+
+        assertEquals(0, OllamaClient.pendingDeadlines());
+    }
+
+    @Test
+    void deadlineCutsASlowRequest() {
+        server.setLatency(FakeOllamaServer.LatencyDistribution.fixed(60_000));
+        long start = System.nanoTime();
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> client.generateAsync(BODY, start + TimeUnit.MILLISECONDS.toNanos(300)).join());
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertTrue(error.getCause() instanceof UncheckedIOException);
+        assertTrue(error.getCause().getCause() instanceof OllamaClient.DeadlineExceededException);
+        assertEquals(0, OllamaClient.pendingDeadlines());
+    }
+
+    @Test
+    void expiredDeadlineFailsWithoutSending() {
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> client.generateAsync(BODY, System.nanoTime() - 1).join());
+
+        assertTrue(error.getCause() instanceof OllamaClient.DeadlineExceededException);
+        assertTrue(server.getLatencies().isEmpty());
+    }
+}
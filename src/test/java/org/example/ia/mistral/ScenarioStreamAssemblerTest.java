@@ -0,0 +1,110 @@
+package org.example.ia.mistral;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioStreamAssemblerTest {
+
+    private static final String SCENARIO = """
+            @smoke
+            Scenario: Crear usuario
+              Given path '/users'
+              And request { name: 'Ana' }
+              When method post
+              Then status 201
+            """;
+
+    @Test
+    void keepsAScenarioSplitAcrossChunks() {
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        for (String token : SCENARIO.split("(?<=\\s)")) {
+            assertFalse(assembler.append(token));
+        }
+
+        assertFalse(assembler.isComplete());
+        assertEquals(SCENARIO, assembler.getText());
+    }
+
+    @Test
+    void cutsBeforeASecondScenario() {
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        assertTrue(assembler.append(SCENARIO + "\nScenario: Otro\n  Given path '/x'\n"));
+
+        assertTrue(assembler.isComplete());
+        assertEquals(SCENARIO + "\n", assembler.getText());
+    }
+
+    @Test
+    void cutsAtTheClosingMarkdownFence() {
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        assembler.append("```gherkin\n");
+        assertTrue(assembler.append(SCENARIO + "```\nEste escenario valida...\n"));
+
+        assertEquals("```gherkin\n" + SCENARIO, assembler.getText());
+    }
+
+    @Test
+    void cutsAtExplanationsAfterTheSteps() {
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        assertTrue(assembler.append(SCENARIO + "Explicación: se valida el alta\n"));
+
+        assertEquals(SCENARIO, assembler.getText());
+    }
+
+    @Test
+    void tagsOfTheNextScenarioEndTheCurrentOne() {
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        assertTrue(assembler.append(SCENARIO + "@regression\n"));
+
+        assertEquals(SCENARIO, assembler.getText());
+    }
+
+    @Test
+    void docStringsAreNotInspected() {
+        String withDocString = """
+                Scenario: Crear usuario
+                  Given path '/users'
+                  And request
+                    \"\"\"
+                    Scenario: esto es texto del body
+                    \"\"\"
+                  When method post
+                """;
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        assertFalse(assembler.append(withDocString));
+        assertEquals(withDocString, assembler.getText());
+    }
+
+    @Test
+    void examplesTablesBelongToTheOutline() {
+        String outline = """
+                Scenario Outline: Campo <field> vacío
+                  Given path '/users'
+                  Then status 400
+
+                  Examples:
+                    | field |
+                    | name  |
+                """;
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+
+        assertFalse(assembler.append(outline));
+        assertEquals(outline, assembler.getText());
+    }
+
+    @Test
+    void staysCompleteOnceCut() {
+        ScenarioStreamAssembler assembler = new ScenarioStreamAssembler();
+        assembler.append(SCENARIO + "Fin\n");
+
+        assertTrue(assembler.append("  And match response == '#present'\n"));
+        assertEquals(SCENARIO, assembler.getText());
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.incremental;
+
+import org.example.contract.model.*;
+import org.example.contract.parser.ContractParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointFingerprintTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+
+    @Test
+    void equalEndpointsHaveTheSameFingerprint() {
+        assertEquals(new EndpointFingerprint().of(endpoint()), new EndpointFingerprint().of(endpoint()));
+    }
+
+    @Test
+    void propertyOrderDoesNotMatter() {
+        Endpoint reordered = endpoint();
+        Schema body = new Schema();
+        body.setType("object");
+        body.addProperty("email", property("string"));
+        body.addProperty("name", property("string"));
+        body.addRequired("name");
+        reordered.setRequestBody(body);
+
+        assertEquals(new EndpointFingerprint().of(endpoint()), new EndpointFingerprint().of(reordered));
+    }
+
+    @Test
+    void changesWhenAnythingTheGeneratorsReadChanges() {
+        EndpointFingerprint fingerprint = new EndpointFingerprint();
+        String base = fingerprint.of(endpoint());
+
+        Endpoint summary = endpoint();
+        summary.setSummary("Crea un usuario nuevo");
+        Endpoint tag = endpoint();
+        tag.addTag("admin");
+        Endpoint parameter = endpoint();
+        parameter.getParameters().get(0).setRequired(false);
+        Endpoint property = endpoint();
+        property.getRequestBody().getProperties().get("name").setMaxLength(50);
+        Endpoint response = endpoint();
+        response.addResponse(409, new Response(409, "Conflict", null));
+
+        for (Endpoint changed : List.of(summary, tag, parameter, property, response)) {
+            assertNotEquals(base, fingerprint.of(changed));
+        }
+    }
+
+    @Test
+    void sharedComponentsHashTheSameFromEveryEndpoint() {
+        Schema user = new Schema();
+        user.setType("object");
+        user.setComponentName("User");
+        user.addProperty("id", property("string"));
+
+        Endpoint first = endpoint();
+        first.setRequestBody(user);
+        Endpoint second = endpoint();
+        second.setRequestBody(user);
+
+        EndpointFingerprint fingerprint = new EndpointFingerprint();
+        assertEquals(fingerprint.of(first), fingerprint.of(second));
+        assertEquals(fingerprint.of(first), new EndpointFingerprint().of(second));
+    }
+
+    @Test
+    void bothParsersProduceTheSameFingerprints() throws IOException {
+        List<Endpoint> tree = ContractParser.forName("tree").parse(CONTRACT).getEndpoints();
+        List<Endpoint> streaming = ContractParser.forName("streaming").parse(CONTRACT).getEndpoints();
+
+        assertEquals(tree.size(), streaming.size());
+        for (int i = 0; i < tree.size(); i++) {
+            assertEquals(new EndpointFingerprint().of(tree.get(i)), new EndpointFingerprint().of(streaming.get(i)));
+        }
+    }
+
+    private static Endpoint endpoint() {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setMethod(HttpMethod.POST);
+        endpoint.setPath("/users/{tenant}");
+        endpoint.setOperationId("createUser");
+        endpoint.setSummary("Crea un usuario");
+        endpoint.addTag("users");
+
+        Parameter tenant = new Parameter();
+        tenant.setName("tenant");
+        tenant.setIn("path");
+        tenant.setType("string");
+        tenant.setRequired(true);
+        endpoint.addParameter(tenant);
+
+        Schema body = new Schema();
+        body.setType("object");
+        body.addProperty("name", property("string"));
+        body.addProperty("email", property("string"));
+        body.addRequired("name");
+        endpoint.setRequestBody(body);
+
+        endpoint.addResponse(201, new Response(201, "Created", null));
+        endpoint.addResponse(400, new Response(400, "Bad Request", null));
+        return endpoint;
+    }
+
+    private static Schema property(String type) {
+        Schema schema = new Schema();
+        schema.setType(type);
+        return schema;
+    }
+}
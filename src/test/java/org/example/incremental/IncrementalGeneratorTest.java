@@ -0,0 +1,134 @@
+package org.example.incremental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.contract.model.ApiContract;
+import org.example.contract.model.Endpoint;
+import org.example.contract.parser.ContractParser;
+import org.example.generator.ScenarioGenerator;
+import org.example.generator.model.KarateScenario;
+import org.example.utils.ConfigReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalGeneratorTest {
+
+    private static final String CONTRACT = "src/test/resources/org.example/contract/example-api.yml";
+
+    private Path dir;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        dir = Files.createTempDirectory("incremental");
+    }
+
+    @Test
+    void manifestSitsNextToTheFeature() {
+        assertEquals(dir.resolve("generated-api.manifest.json"),
+                IncrementalGenerator.manifestPathFor(dir.resolve("generated-api.feature").toString()));
+        assertEquals(dir.resolve("api.manifest.json"), IncrementalGenerator.manifestPathFor(dir.resolve("api").toString()));
+    }
+
+    @Test
+    void firstRunRegeneratesEverything() throws IOException {
+        ApiContract contract = contract();
+
+        IncrementalGenerator.Plan plan = generator().plan(contract);
+
+        assertEquals(contract.getEndpoints().size(), plan.getChanged().size());
+        assertEquals(0, plan.getReusedCount());
+    }
+
+    @Test
+    void unchangedContractIsReusedFromTheManifest() throws IOException {
+        List<KarateScenario> first = run(contract());
+
+        IncrementalGenerator.Plan plan = generator().plan(contract());
+
+        assertTrue(plan.getChanged().isEmpty());
+        assertEquals(karate(first), karate(plan.assemble(plan.generate(new ScenarioGenerator()))));
+    }
+
+    @Test
+    void onlyModifiedEndpointsAreRegeneratedAndOrderIsKept() throws IOException {
+        List<KarateScenario> first = run(contract());
+        ApiContract modified = contract();
+        Endpoint changed = modified.getEndpoints().get(1);
+        changed.setSummary(changed.getSummary() + " (v2)");
+
+        IncrementalGenerator.Plan plan = generator().plan(modified);
+        List<KarateScenario> all = plan.assemble(plan.generate(new ScenarioGenerator()));
+
+        assertEquals(List.of(changed), plan.getChanged());
+        assertEquals(first.size(), all.size());
+        assertEquals(karate(new ScenarioGenerator().generateAll(modified)), karate(all));
+    }
+
+    @Test
+    void unenrichedEndpointsAreRetried() throws IOException {
+        IncrementalGenerator.Plan plan = generator().plan(contract());
+        List<KarateScenario> fresh = plan.generate(new ScenarioGenerator());
+        plan.assemble(fresh, Collections.nCopies(fresh.size(), false));
+        generator().save(plan);
+
+        IncrementalGenerator.Plan next = generator().plan(contract());
+
+        // Con la IA activa ningún endpoint quedó enriquecido; sin ella todo se reutiliza
+        boolean useIA = Boolean.parseBoolean(ConfigReader.getPropertyByKey("UseIA", "false"));
+        assertEquals(useIA ? contract().getEndpoints().size() : 0, next.getChanged().size());
+    }
+
+    @Test
+    void unreadableManifestRegeneratesEverything() throws IOException {
+        Files.writeString(generator().getManifestPath(), "{ no es json");
+
+        IncrementalGenerator.Plan plan = generator().plan(contract());
+
+        assertEquals(0, plan.getReusedCount());
+    }
+
+    @Test
+    void manifestRoundTripsThroughJson() throws IOException {
+        run(contract());
+        ObjectMapper mapper = new ObjectMapper();
+
+        GenerationManifest manifest =
+                mapper.readValue(generator().getManifestPath().toFile(), GenerationManifest.class);
+        GenerationManifest copy = mapper.readValue(mapper.writeValueAsBytes(manifest), GenerationManifest.class);
+
+        assertEquals(contract().getEndpoints().size(), manifest.getEndpoints().size());
+        assertEquals(mapper.writeValueAsString(manifest), mapper.writeValueAsString(copy));
+        GenerationManifest.EndpointEntry entry = manifest.getEndpoints().values().iterator().next();
+        assertEquals(64, entry.getFingerprint().length());
+        assertFalse(entry.getScenarios().get(0).getSteps().isEmpty());
+    }
+
+    // Ejecución completa dando todos los escenarios por enriquecidos
+    private List<KarateScenario> run(ApiContract contract) throws IOException {
+        IncrementalGenerator generator = generator();
+        IncrementalGenerator.Plan plan = generator.plan(contract);
+        List<KarateScenario> fresh = plan.generate(new ScenarioGenerator());
+        List<KarateScenario> all = plan.assemble(fresh, Collections.nCopies(fresh.size(), true));
+        generator.save(plan);
+        return all;
+    }
+
+    private IncrementalGenerator generator() {
+        return new IncrementalGenerator(dir.resolve("generated-api.feature").toString());
+    }
+
+    private static ApiContract contract() throws IOException {
+        return ContractParser.forName(ContractParser.DEFAULT).parse(CONTRACT);
+    }
+
+    private static List<String> karate(List<KarateScenario> scenarios) {
+        return scenarios.stream().map(KarateScenario::toKarateString).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.writer;
+
+import org.example.generator.template.FeatureContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureFileWriterTest {
+
+    private static final FileTime OLD = FileTime.fromMillis(1_000_000_000_000L);
+
+    private Path dir;
+    private FeatureFileWriter writer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("features");
+        writer = new FeatureFileWriter();
+    }
+
+    @Test
+    void createsMissingDirectoriesAndWrites() throws IOException {
+        Path target = dir.resolve("a/b/api.feature");
+
+        writer.write("Feature: API\n", target.toString());
+
+        assertEquals("Feature: API\n", Files.readString(target));
+        assertEquals(1, writer.getWritten());
+        assertEquals(0, writer.getSkipped());
+    }
+
+    @Test
+    void skipsUnchangedContentWithoutTouchingTheFile() throws IOException {
+        Path target = dir.resolve("api.feature");
+        writer.write("Feature: API\n  Scenario: ñandú\n", target.toString());
+        Files.setLastModifiedTime(target, OLD);
+
+        writer.write("Feature: API\n  Scenario: ñandú\n", target.toString());
+
+        assertEquals(OLD, Files.getLastModifiedTime(target));
+        assertEquals(1, writer.getWritten());
+        assertEquals(1, writer.getSkipped());
+    }
+
+    @Test
+    void rewritesContentOfTheSameSize() throws IOException {
+        Path target = dir.resolve("api.feature");
+        writer.write("Feature: AAA\n", target.toString());
+        Files.setLastModifiedTime(target, OLD);
+
+        writer.write("Feature: BBB\n", target.toString());
+
+        assertEquals("Feature: BBB\n", Files.readString(target));
+        assertNotEquals(OLD, Files.getLastModifiedTime(target));
+        assertEquals(2, writer.getWritten());
+    }
+
+    @Test
+    void replacesAtomicallyWithoutLeavingTemporaryFiles() throws IOException {
+        Path target = dir.resolve("api.feature");
+        writer.write("Feature: v1\n", target.toString());
+
+        writer.write(out -> out.append("Feature: v2\n").append("  Scenario: nuevo\n"), target.toString());
+
+        assertEquals("Feature: v2\n  Scenario: nuevo\n", Files.readString(target));
+        assertEquals(List.of(target), list(dir));
+    }
+
+    @Test
+    void failedRenderKeepsThePreviousFile() throws IOException {
+        Path target = dir.resolve("api.feature");
+        writer.write("Feature: v1\n", target.toString());
+        // El render falla a mitad: el destino no debe quedar truncado
+        FeatureContent failing = out -> {
+            out.append("Feature: v2\n");
+            throw new IOException("render roto");
+        };
+
+        assertThrows(IOException.class, () -> writer.write(failing, target.toString()));
+
+        assertEquals("Feature: v1\n", Files.readString(target));
+        assertEquals(List.of(target), list(dir));
+    }
+
+    @Test
+    void writesAllShards() throws IOException {
+        Map<String, FeatureContent> shards = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            String body = "Feature: shard " + i + "\n";
+            shards.put(dir.resolve("shards/s" + i + ".feature").toString(), out -> out.append(body));
+        }
+
+        writer.writeAll(shards);
+
+        assertEquals(6, writer.getWritten());
+        for (int i = 0; i < 6; i++) {
+            assertEquals("Feature: shard " + i + "\n", Files.readString(dir.resolve("shards/s" + i + ".feature")));
+        }
+    }
+
+    @Test
+    void keepsPermissionsOfTheReplacedFile() throws IOException {
+        Path target = dir.resolve("api.feature");
+        writer.write("Feature: v1\n", target.toString());
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rw-r-----"));
+
+        writer.write("Feature: v2\n", target.toString());
+
+        assertEquals(PosixFilePermissions.fromString("rw-r-----"), Files.getPosixFilePermissions(target));
+    }
+
+    @Test
+    void newFilesAreNotOwnerOnly() throws IOException {
+        Path target = dir.resolve("api.feature");
+
+        writer.write("Feature: v1\n", target.toString());
+
+        // Files.createTempFile crearía 0600; el fichero nuevo sigue la umask como cualquier otro
+        Path reference = Files.createFile(dir.resolve("reference"));
+        assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(target));
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}